@@ -0,0 +1,127 @@
+package com.example.todo.auth.calculation;
+
+/**
+ * Loan position after a number of EMI payments, computed from the annuity formulas
+ * instead of stepping through the schedule month by month. Results are rounded to
+ * cents the same way {@code EMI.calculateRemainingDetails} always has.
+ */
+public final class Amortization {
+
+    // Relative distance from a half-cent below which the closed form could round the other way
+    private static final double ROUNDING_GUARD = 1e-12;
+
+    private final double principalPaid;
+    private final double interestPaid;
+    private final double remainingPrincipal;
+    private final double remainingInterest;
+
+    private Amortization(double principalPaid, double interestPaid,
+                         double remainingPrincipal, double remainingInterest) {
+        this.principalPaid = round(principalPaid);
+        this.interestPaid = round(interestPaid);
+        this.remainingPrincipal = round(remainingPrincipal);
+        this.remainingInterest = round(remainingInterest);
+    }
+
+    // Monthly instalment from the annuity formula, rounded to cents
+    public static double installment(double principal, double annualInterestRate, int totalTenure) {
+        double monthlyInterestRate = annualInterestRate / 12 / 100;
+        double emi = principal * monthlyInterestRate *
+                Math.pow(1 + monthlyInterestRate, totalTenure) /
+                (Math.pow(1 + monthlyInterestRate, totalTenure) - 1);
+        return round(emi);
+    }
+
+    /**
+     * @param principal          original loan amount
+     * @param annualInterestRate yearly rate in percent
+     * @param totalTenure        number of instalments in the loan
+     * @param tenuresPaid        instalments already paid
+     * @param emiAmount          rounded monthly instalment
+     */
+    public static Amortization compute(double principal, double annualInterestRate,
+                                       int totalTenure, int tenuresPaid, double emiAmount) {
+        double monthlyInterestRate = annualInterestRate / 12 / 100;
+        int paid = Math.max(tenuresPaid, 0);
+        int remaining = Math.max(totalTenure - tenuresPaid, 0);
+
+        double interestPaid;
+        double remainingInterest;
+        double principalPaid;
+        double balance;
+
+        if (monthlyInterestRate == 0) {
+            principalPaid = paid * emiAmount;
+            interestPaid = 0.0;
+            balance = principal - principalPaid;
+            remainingInterest = 0.0;
+        } else {
+            // Interest over m months from balance B is B((1+r)^m - 1) - E(((1+r)^m - 1)/r - m);
+            // expm1/log1p keep (1+r)^m - 1 accurate for small rates and short spans
+            double logGrowth = Math.log1p(monthlyInterestRate);
+            double paidGrowth = Math.expm1(paid * logGrowth);
+            double remainingGrowth = Math.expm1(remaining * logGrowth);
+
+            interestPaid = principal * paidGrowth - emiAmount * (paidGrowth / monthlyInterestRate - paid);
+            principalPaid = paid * emiAmount - interestPaid;
+            balance = principal - principalPaid;
+            remainingInterest = balance * remainingGrowth
+                    - emiAmount * (remainingGrowth / monthlyInterestRate - remaining);
+        }
+
+        if (nearHalfCent(principalPaid) || nearHalfCent(interestPaid)
+                || nearHalfCent(balance) || nearHalfCent(remainingInterest)) {
+            // Too close to call: let the month-by-month sum decide, as it always has
+            return iterate(principal, monthlyInterestRate, paid, remaining, emiAmount);
+        }
+        return new Amortization(principalPaid, interestPaid, balance, remainingInterest);
+    }
+
+    private static Amortization iterate(double principal, double monthlyInterestRate,
+                                        int paid, int remaining, double emiAmount) {
+        double balance = principal;
+        double interestPaid = 0.0;
+        double principalPaid = 0.0;
+        for (int i = 0; i < paid; i++) {
+            double interestComponent = balance * monthlyInterestRate;
+            double principalComponent = emiAmount - interestComponent;
+            interestPaid += interestComponent;
+            principalPaid += principalComponent;
+            balance -= principalComponent;
+        }
+
+        double remainingInterest = 0.0;
+        double tempPrincipal = balance;
+        for (int i = 0; i < remaining; i++) {
+            double interestComponent = tempPrincipal * monthlyInterestRate;
+            remainingInterest += interestComponent;
+            tempPrincipal -= emiAmount - interestComponent;
+        }
+        return new Amortization(principalPaid, interestPaid, balance, remainingInterest);
+    }
+
+    private static boolean nearHalfCent(double value) {
+        double cents = value * 100.0;
+        return Math.abs(cents - Math.floor(cents) - 0.5) <= ROUNDING_GUARD * Math.max(1.0, Math.abs(cents));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public double getPrincipalPaid() {
+        return principalPaid;
+    }
+
+    public double getInterestPaid() {
+        return interestPaid;
+    }
+
+    public double getRemainingPrincipal() {
+        return remainingPrincipal;
+    }
+
+    public double getRemainingInterest() {
+        return remainingInterest;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.todo.auth.calculation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Installment-by-installment breakdown of a loan. Rows are generated while they are
+ * written, so a 360-month schedule never exists in memory as a whole.
+ * <p>
+ * A prepayment is extra principal paid right after the installment of its month. The
+ * installment amount stays the same, so prepayments shorten the loan.
+ */
+public final class AmortizationSchedule {
+
+    private final double principal;
+    private final double monthlyInterestRate;
+    private final int totalTenure;
+    private final double emiAmount;
+    private final Map<Integer, Double> prepayments;
+
+    private AmortizationSchedule(double principal, double annualInterestRate, int totalTenure,
+                                 double emiAmount, Map<Integer, Double> prepayments) {
+        this.principal = principal;
+        this.monthlyInterestRate = annualInterestRate / 12 / 100;
+        this.totalTenure = totalTenure;
+        this.emiAmount = emiAmount;
+        this.prepayments = prepayments;
+    }
+
+    public static AmortizationSchedule of(double principal, double annualInterestRate, int totalTenure,
+                                          double emiAmount, Map<Integer, Double> prepayments) {
+        return new AmortizationSchedule(principal, annualInterestRate, totalTenure, emiAmount,
+                prepayments == null ? Collections.emptyMap() : prepayments);
+    }
+
+    /**
+     * Parses prepayments given as {@code month:amount}, e.g. {@code 12:50000}. Amounts
+     * for the same month are added up.
+     */
+    public static Map<Integer, Double> parsePrepayments(Iterable<String> values) {
+        Map<Integer, Double> prepayments = new HashMap<>();
+        if (values == null) {
+            return prepayments;
+        }
+        for (String value : values) {
+            String[] parts = value.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Prepayment must be month:amount, got " + value);
+            }
+            int month;
+            double amount;
+            try {
+                month = Integer.parseInt(parts[0].trim());
+                amount = Double.parseDouble(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Prepayment must be month:amount, got " + value);
+            }
+            if (month < 1 || amount <= 0) {
+                throw new IllegalArgumentException("Prepayment month and amount must be positive, got " + value);
+            }
+            prepayments.merge(month, amount, Double::sum);
+        }
+        return prepayments;
+    }
+
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        generate((installment, payment, interest, principalComponent, prepayment, balance) -> {
+            generator.writeStartObject();
+            generator.writeNumberField("installment", installment);
+            generator.writeNumberField("payment", payment);
+            generator.writeNumberField("interest", interest);
+            generator.writeNumberField("principal", principalComponent);
+            generator.writeNumberField("prepayment", prepayment);
+            generator.writeNumberField("balance", balance);
+            generator.writeEndObject();
+        });
+        generator.writeEndArray();
+    }
+
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("installment,payment,interest,principal,prepayment,balance\n");
+        generate((installment, payment, interest, principalComponent, prepayment, balance) -> {
+            writer.write(installment + "," + amount(payment) + "," + amount(interest) + ","
+                    + amount(principalComponent) + "," + amount(prepayment) + "," + amount(balance) + "\n");
+        });
+    }
+
+    private void generate(RowWriter rows) throws IOException {
+        double balance = principal;
+        for (int installment = 1; installment <= totalTenure && balance >= 0.005; installment++) {
+            double interest = balance * monthlyInterestRate;
+            double principalComponent = emiAmount - interest;
+            // The last installment settles whatever the rounded EMI left over
+            if (principalComponent > balance || installment == totalTenure) {
+                principalComponent = balance;
+            }
+            balance -= principalComponent;
+
+            double prepayment = Math.min(prepayments.getOrDefault(installment, 0.0), balance);
+            balance -= prepayment;
+
+            rows.write(installment, round(interest + principalComponent), round(interest),
+                    round(principalComponent), round(prepayment), round(balance));
+        }
+    }
+
+    // Fixed point, since Double.toString switches to exponent notation from 1e7
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(int installment, double payment, double interest, double principal,
+                   double prepayment, double balance) throws IOException;
+    }
+}
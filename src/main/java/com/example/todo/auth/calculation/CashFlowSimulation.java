@@ -0,0 +1,322 @@
+package com.example.todo.auth.calculation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Month-by-month household cash flow across every instrument a user has. Instruments
+ * are held as parallel primitive columns per kind and the whole timeline is built in a
+ * single pass: each month touches every instrument once and writes one slot of each
+ * output column.
+ * <p>
+ * Each month the surplus (income minus expenses, loan installments and SIP
+ * contributions) goes to cash. Goals fall due in order of their due month and are paid
+ * from cash first, then from investments pro rata; a goal that cannot be covered waits,
+ * along with every later goal, until it can. Investments keep compounding at their own
+ * rate after their term ends. Negative cash counts as debt.
+ */
+public final class CashFlowSimulation {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int months;
+
+    private double monthlyExpenses;
+    private double expenseGrowth = 1;
+
+    // Incomes: monthly amount in the current year, yearly growth factor, months it lasts
+    private int incomeCount;
+    private double[] incomeAmount = new double[INITIAL_CAPACITY];
+    private double[] incomeGrowth = new double[INITIAL_CAPACITY];
+    private int[] incomeMonths = new int[INITIAL_CAPACITY];
+
+    // Loans: outstanding principal, monthly rate, installment, installments left
+    private int loanCount;
+    private double[] loanBalance = new double[INITIAL_CAPACITY];
+    private double[] loanRate = new double[INITIAL_CAPACITY];
+    private double[] loanInstallment = new double[INITIAL_CAPACITY];
+    private int[] loanRemaining = new int[INITIAL_CAPACITY];
+
+    // Investments: balance, monthly growth factor, monthly contribution, months contributed
+    private int investmentCount;
+    private double[] investmentBalance = new double[INITIAL_CAPACITY];
+    private double[] investmentGrowth = new double[INITIAL_CAPACITY];
+    private double[] investmentContribution = new double[INITIAL_CAPACITY];
+    private int[] investmentMonths = new int[INITIAL_CAPACITY];
+
+    // Goals: amount needed and due month (1-based); results filled in by run()
+    private int goalCount;
+    private double[] goalAmount = new double[INITIAL_CAPACITY];
+    private int[] goalDueMonth = new int[INITIAL_CAPACITY];
+    private int[] goalFundedMonth;
+    private double[] goalShortfall;
+
+    // Timeline, one slot per month
+    private final double[] income;
+    private final double[] expenses;
+    private final double[] loanPayments;
+    private final double[] contributions;
+    private final double[] cash;
+    private final double[] investments;
+    private final double[] debt;
+
+    public CashFlowSimulation(int months) {
+        if (months < 1) {
+            throw new IllegalArgumentException("Horizon must be at least one month, got " + months);
+        }
+        this.months = months;
+        this.income = new double[months];
+        this.expenses = new double[months];
+        this.loanPayments = new double[months];
+        this.contributions = new double[months];
+        this.cash = new double[months];
+        this.investments = new double[months];
+        this.debt = new double[months];
+    }
+
+    // Household spending today, growing once a year with inflation
+    public void setExpenses(double monthlyExpenses, double annualInflationRate) {
+        this.monthlyExpenses = monthlyExpenses;
+        this.expenseGrowth = 1 + annualInflationRate / 100;
+    }
+
+    // Same yearly steps as IncomeSource.calculateIncomeProjection
+    public void addIncome(double initialMonthlyIncome, double annualGrowthRate, int years) {
+        if (incomeCount == incomeAmount.length) {
+            int capacity = incomeCount * 2;
+            incomeAmount = Arrays.copyOf(incomeAmount, capacity);
+            incomeGrowth = Arrays.copyOf(incomeGrowth, capacity);
+            incomeMonths = Arrays.copyOf(incomeMonths, capacity);
+        }
+        incomeAmount[incomeCount] = initialMonthlyIncome;
+        incomeGrowth[incomeCount] = 1 + annualGrowthRate / 100;
+        incomeMonths[incomeCount] = years * 12;
+        incomeCount++;
+    }
+
+    public void addLoan(double remainingPrincipal, double annualInterestRate, double installment, int remainingTenure) {
+        if (loanCount == loanBalance.length) {
+            int capacity = loanCount * 2;
+            loanBalance = Arrays.copyOf(loanBalance, capacity);
+            loanRate = Arrays.copyOf(loanRate, capacity);
+            loanInstallment = Arrays.copyOf(loanInstallment, capacity);
+            loanRemaining = Arrays.copyOf(loanRemaining, capacity);
+        }
+        loanBalance[loanCount] = remainingPrincipal;
+        loanRate[loanCount] = annualInterestRate / 12 / 100;
+        loanInstallment[loanCount] = installment;
+        loanRemaining[loanCount] = remainingTenure;
+        loanCount++;
+    }
+
+    // Contribution at the start of each month and r / 12 growth, as in SIP.calculateSIP
+    public void addSip(double monthlyInvestment, double expectedReturn, int durationMonths) {
+        addInvestment(0, 1 + expectedReturn / 12 / 100, monthlyInvestment, durationMonths);
+    }
+
+    // Monthly steps that compound to the annual rate of LumpSum.calculateLumpSum
+    public void addLumpSum(double principal, double expectedReturn) {
+        addInvestment(principal, Math.pow(1 + expectedReturn / 100, 1.0 / 12), 0, 0);
+    }
+
+    private void addInvestment(double balance, double growth, double contribution, int contributionMonths) {
+        if (investmentCount == investmentBalance.length) {
+            int capacity = investmentCount * 2;
+            investmentBalance = Arrays.copyOf(investmentBalance, capacity);
+            investmentGrowth = Arrays.copyOf(investmentGrowth, capacity);
+            investmentContribution = Arrays.copyOf(investmentContribution, capacity);
+            investmentMonths = Arrays.copyOf(investmentMonths, capacity);
+        }
+        investmentBalance[investmentCount] = balance;
+        investmentGrowth[investmentCount] = growth;
+        investmentContribution[investmentCount] = contribution;
+        investmentMonths[investmentCount] = contributionMonths;
+        investmentCount++;
+    }
+
+    /**
+     * @param dueMonth 1-based month the amount is needed in
+     * @return index of the goal for {@link #getGoalFundedMonth} and {@link #getGoalShortfall}
+     */
+    public int addGoal(double amount, int dueMonth) {
+        if (goalCount == goalAmount.length) {
+            int capacity = goalCount * 2;
+            goalAmount = Arrays.copyOf(goalAmount, capacity);
+            goalDueMonth = Arrays.copyOf(goalDueMonth, capacity);
+        }
+        goalAmount[goalCount] = amount;
+        goalDueMonth[goalCount] = dueMonth;
+        return goalCount++;
+    }
+
+    public CashFlowSimulation run() {
+        int[] goalOrder = goalsByDueMonth();
+        goalFundedMonth = new int[goalCount];
+        goalShortfall = new double[goalCount];
+        boolean[] goalExamined = new boolean[goalCount];
+        int nextGoal = 0;
+
+        double currentExpenses = monthlyExpenses;
+        double currentCash = 0;
+
+        for (int m = 0; m < months; m++) {
+            boolean newYear = m > 0 && m % 12 == 0;
+            if (newYear) {
+                currentExpenses *= expenseGrowth;
+            }
+
+            double monthIncome = 0;
+            for (int i = 0; i < incomeCount; i++) {
+                if (m < incomeMonths[i]) {
+                    if (newYear) {
+                        incomeAmount[i] *= incomeGrowth[i];
+                    }
+                    monthIncome += incomeAmount[i];
+                }
+            }
+
+            double monthLoanPayments = 0;
+            double outstanding = 0;
+            for (int i = 0; i < loanCount; i++) {
+                if (loanRemaining[i] > 0 && loanBalance[i] > 0) {
+                    double interest = loanBalance[i] * loanRate[i];
+                    double principal = loanInstallment[i] - interest;
+                    // The last installment settles whatever the rounded EMI left over
+                    if (principal > loanBalance[i] || loanRemaining[i] == 1) {
+                        principal = loanBalance[i];
+                    }
+                    loanBalance[i] -= principal;
+                    loanRemaining[i]--;
+                    monthLoanPayments += interest + principal;
+                }
+                outstanding += loanBalance[i];
+            }
+
+            double monthContributions = 0;
+            double invested = 0;
+            for (int i = 0; i < investmentCount; i++) {
+                double contribution = m < investmentMonths[i] ? investmentContribution[i] : 0;
+                investmentBalance[i] = (investmentBalance[i] + contribution) * investmentGrowth[i];
+                monthContributions += contribution;
+                invested += investmentBalance[i];
+            }
+
+            currentCash += monthIncome - currentExpenses - monthLoanPayments - monthContributions;
+
+            while (nextGoal < goalCount && goalDueMonth[goalOrder[nextGoal]] <= m + 1) {
+                int goal = goalOrder[nextGoal];
+                double available = Math.max(currentCash, 0) + invested;
+                if (available < goalAmount[goal]) {
+                    // Every goal now due records what it lacks, after the unpaid goals ahead of it
+                    double left = available;
+                    for (int next = nextGoal; next < goalCount && goalDueMonth[goalOrder[next]] <= m + 1; next++) {
+                        int pending = goalOrder[next];
+                        if (!goalExamined[pending]) {
+                            goalShortfall[pending] = goalAmount[pending] - Math.max(left, 0);
+                            goalExamined[pending] = true;
+                        }
+                        left -= goalAmount[pending];
+                    }
+                    break;
+                }
+                double fromCash = Math.min(Math.max(currentCash, 0), goalAmount[goal]);
+                currentCash -= fromCash;
+                double fromInvestments = goalAmount[goal] - fromCash;
+                if (fromInvestments > 0) {
+                    double keep = 1 - fromInvestments / invested;
+                    for (int i = 0; i < investmentCount; i++) {
+                        investmentBalance[i] *= keep;
+                    }
+                    invested -= fromInvestments;
+                }
+                goalFundedMonth[goal] = m + 1;
+                nextGoal++;
+            }
+
+            income[m] = monthIncome;
+            expenses[m] = currentExpenses;
+            loanPayments[m] = monthLoanPayments;
+            contributions[m] = monthContributions;
+            cash[m] = currentCash;
+            investments[m] = invested;
+            debt[m] = outstanding + Math.max(-currentCash, 0);
+        }
+        return this;
+    }
+
+    // Insertion sort; there are a few dozen goals at most
+    private int[] goalsByDueMonth() {
+        int[] order = new int[goalCount];
+        for (int i = 0; i < goalCount; i++) {
+            int j = i;
+            while (j > 0 && goalDueMonth[order[j - 1]] > goalDueMonth[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return order;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    // Month the goal was paid for, or 0 if it never was within the horizon
+    public int getGoalFundedMonth(int goal) {
+        return goalFundedMonth[goal];
+    }
+
+    // Due after the last simulated month, so neither funded nor missed
+    public boolean isGoalBeyondHorizon(int goal) {
+        return goalDueMonth[goal] > months;
+    }
+
+    // How much was missing in the month the goal fell due, 0 if paid on time
+    public double getGoalShortfall(int goal) {
+        return round(goalShortfall[goal]);
+    }
+
+    /**
+     * One row per year: flows summed over its months, balances as of its last month.
+     * Net worth is cash plus investments minus outstanding debt.
+     */
+    public List<Map<String, Object>> getYearlyRows() {
+        List<Map<String, Object>> rows = new ArrayList<>((months + 11) / 12);
+        for (int start = 0; start < months; start += 12) {
+            int end = Math.min(start + 12, months);
+            double yearIncome = 0;
+            double yearExpenses = 0;
+            double yearLoanPayments = 0;
+            double yearContributions = 0;
+            for (int m = start; m < end; m++) {
+                yearIncome += income[m];
+                yearExpenses += expenses[m];
+                yearLoanPayments += loanPayments[m];
+                yearContributions += contributions[m];
+            }
+            int last = end - 1;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("year", start / 12 + 1);
+            row.put("income", round(yearIncome));
+            row.put("expenses", round(yearExpenses));
+            row.put("emiPayments", round(yearLoanPayments));
+            row.put("sipContributions", round(yearContributions));
+            row.put("surplus", round(yearIncome - yearExpenses - yearLoanPayments - yearContributions));
+            row.put("cash", round(cash[last]));
+            row.put("investments", round(investments[last]));
+            row.put("debt", round(debt[last]));
+            row.put("netWorth", round(cash[last] + investments[last] - debt[last] + Math.max(-cash[last], 0)));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todo.auth.calculation;
+
+import com.example.todo.auth.dto.ConsolidatedIncomeRow;
+import com.example.todo.auth.dto.IncomeProgressionRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Year-by-year income growth built in a single pass. The cumulative total is carried
+ * forward instead of being summed again from year 1 for every row.
+ */
+public final class IncomeProgression {
+
+    private IncomeProgression() {
+    }
+
+    public static List<IncomeProgressionRow> of(double initialMonthlyIncome, double annualGrowthRate, int years) {
+        List<IncomeProgressionRow> progression = new ArrayList<>(Math.max(years, 0));
+        double growth = 1 + (annualGrowthRate / 100);
+        double currentMonthlyIncome = initialMonthlyIncome;
+        double cumulativeIncome = 0.0;
+
+        for (int year = 1; year <= years; year++) {
+            double annualIncome = currentMonthlyIncome * 12;
+            cumulativeIncome += annualIncome;
+
+            progression.add(new IncomeProgressionRow(
+                    year,
+                    round(currentMonthlyIncome),
+                    round(annualIncome),
+                    round(cumulativeIncome),
+                    round(((currentMonthlyIncome - initialMonthlyIncome) / initialMonthlyIncome) * 100)));
+
+            currentMonthlyIncome *= growth;
+        }
+        return progression;
+    }
+
+    /**
+     * Adds up several income sources into one timeline that runs until the longest
+     * source ends. A source contributes only to the years it lasts.
+     */
+    public static final class Timeline {
+
+        private double[] monthlyIncome = new double[0];
+        private int[] activeSources = new int[0];
+
+        public void add(double initialMonthlyIncome, double annualGrowthRate, int years) {
+            ensureCapacity(years);
+            double growth = 1 + (annualGrowthRate / 100);
+            double currentMonthlyIncome = initialMonthlyIncome;
+            for (int i = 0; i < years; i++) {
+                monthlyIncome[i] += currentMonthlyIncome;
+                activeSources[i]++;
+                currentMonthlyIncome *= growth;
+            }
+        }
+
+        public List<ConsolidatedIncomeRow> rows() {
+            List<ConsolidatedIncomeRow> rows = new ArrayList<>(monthlyIncome.length);
+            double cumulativeIncome = 0.0;
+            for (int i = 0; i < monthlyIncome.length; i++) {
+                double annualIncome = monthlyIncome[i] * 12;
+                cumulativeIncome += annualIncome;
+                rows.add(new ConsolidatedIncomeRow(i + 1, round(monthlyIncome[i]), round(annualIncome),
+                        round(cumulativeIncome), activeSources[i]));
+            }
+            return rows;
+        }
+
+        private void ensureCapacity(int years) {
+            if (years > monthlyIncome.length) {
+                monthlyIncome = Arrays.copyOf(monthlyIncome, years);
+                activeSources = Arrays.copyOf(activeSources, years);
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
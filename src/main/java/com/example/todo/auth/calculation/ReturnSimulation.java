@@ -0,0 +1,209 @@
+package com.example.todo.auth.calculation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo simulation of an investment under uncertain returns. Each month's growth
+ * is log-normal with a drift chosen so the median growth compounds like the investment's
+ * own formula. For a lump sum that makes P50 the deterministic future value. A SIP ends as
+ * a sum of correlated log-normals whose median sits above it, by about 1% over ten years
+ * at 16% volatility and more for longer or more volatile runs.
+ * <p>
+ * Paths are split across a fork-join pool; every subtask gets its own
+ * {@link SplittableRandom} split off before forking, so a given seed yields the same
+ * result on any number of cores. The value of every path at each year end is kept in
+ * one primitive array, one column per checkpoint, and nothing is allocated per path.
+ */
+public final class ReturnSimulation {
+
+    public static final int DEFAULT_PATHS = 10_000;
+    public static final int MAX_PATHS = 50_000;
+
+    // Year-end values kept in memory at once (16 MB of doubles)
+    private static final int MAX_VALUES = 2_000_000;
+
+    // Paths a single subtask simulates before the range is split further
+    private static final int LEAF_PATHS = 512;
+
+    private final int paths;
+    private final int[] checkpointMonths;
+    private final double[] values; // values[checkpoint * paths + path], sorted per checkpoint
+
+    private ReturnSimulation(int paths, int[] checkpointMonths) {
+        this.paths = paths;
+        this.checkpointMonths = checkpointMonths;
+        this.values = new double[checkpointMonths.length * paths];
+    }
+
+    /**
+     * @param monthlyInvestment paid at the start of every month, as in {@code SIP.calculateSIP}
+     */
+    public static ReturnSimulation simulateSip(double monthlyInvestment, int months, double annualReturn,
+                                               double annualVolatility, int paths, long seed, ForkJoinPool pool) {
+        // Same nominal monthly rate as the SIP formula
+        double drift = Math.log1p(annualReturn / 100 / 12);
+        return simulate(0, monthlyInvestment, months, drift, annualReturn, annualVolatility, paths, seed, pool);
+    }
+
+    public static ReturnSimulation simulateLumpSum(double principal, int years, double annualReturn,
+                                                   double annualVolatility, int paths, long seed, ForkJoinPool pool) {
+        // Monthly steps that compound to the annual rate of the lump-sum formula
+        double drift = Math.log1p(annualReturn / 100) / 12;
+        return simulate(principal, 0, years * 12, drift, annualReturn, annualVolatility, paths, seed, pool);
+    }
+
+    private static ReturnSimulation simulate(double principal, double monthlyInvestment, int months, double drift,
+                                             double annualReturn, double annualVolatility,
+                                             int paths, long seed, ForkJoinPool pool) {
+        if (paths < 1 || paths > MAX_PATHS) {
+            throw new IllegalArgumentException("Paths must be between 1 and " + MAX_PATHS + ", got " + paths);
+        }
+        if (months < 1) {
+            throw new IllegalArgumentException("Duration must be positive, got " + months + " months");
+        }
+        if (annualReturn <= -100 || annualVolatility < 0) {
+            throw new IllegalArgumentException("Return must be above -100% and volatility non-negative");
+        }
+
+        int[] checkpoints = checkpoints(months);
+        if ((long) checkpoints.length * paths > MAX_VALUES) {
+            throw new IllegalArgumentException("Too many paths for a " + months + "-month duration, use at most "
+                    + MAX_VALUES / checkpoints.length);
+        }
+
+        ReturnSimulation simulation = new ReturnSimulation(paths, checkpoints);
+        double sigma = annualVolatility / 100 / Math.sqrt(12);
+        pool.invoke(simulation.new PathTask(0, paths, new SplittableRandom(seed),
+                principal, monthlyInvestment, drift, sigma));
+        pool.submit(() -> IntStream.range(0, simulation.checkpointMonths.length).parallel()
+                .forEach(c -> Arrays.sort(simulation.values, c * paths, (c + 1) * paths))).join();
+        return simulation;
+    }
+
+    // Every year end, plus the final month when the duration is not whole years
+    private static int[] checkpoints(int months) {
+        int count = (months + 11) / 12;
+        int[] checkpoints = new int[count];
+        for (int i = 0; i < count; i++) {
+            checkpoints[i] = Math.min((i + 1) * 12, months);
+        }
+        return checkpoints;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public int getCheckpoints() {
+        return checkpointMonths.length;
+    }
+
+    public int getCheckpointMonth(int checkpoint) {
+        return checkpointMonths[checkpoint];
+    }
+
+    /**
+     * Nearest-rank percentile of the path values at a checkpoint, e.g.
+     * {@code percentile(getCheckpoints() - 1, 0.9)} for the final P90.
+     */
+    public double percentile(int checkpoint, double fraction) {
+        int rank = (int) Math.ceil(fraction * paths);
+        int index = Math.min(Math.max(rank - 1, 0), paths - 1);
+        return round(values[checkpoint * paths + index]);
+    }
+
+    public double mean(int checkpoint) {
+        double sum = 0;
+        for (int i = checkpoint * paths, end = i + paths; i < end; i++) {
+            sum += values[i];
+        }
+        return round(sum / paths);
+    }
+
+    // Share of paths that end the checkpoint below the given amount
+    public double probabilityBelow(int checkpoint, double amount) {
+        int from = checkpoint * paths;
+        int low = from;
+        int high = from + paths;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Math.round((double) (low - from) / paths * 10_000) / 10_000.0;
+    }
+
+    // P10/P50/P90 at every checkpoint, for drawing the fan chart
+    public List<Map<String, Object>> getBands() {
+        List<Map<String, Object>> bands = new ArrayList<>(checkpointMonths.length);
+        for (int c = 0; c < checkpointMonths.length; c++) {
+            Map<String, Object> band = new LinkedHashMap<>();
+            band.put("month", checkpointMonths[c]);
+            band.put("p10", percentile(c, 0.1));
+            band.put("p50", percentile(c, 0.5));
+            band.put("p90", percentile(c, 0.9));
+            bands.add(band);
+        }
+        return bands;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private final class PathTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        private final double principal;
+        private final double monthlyInvestment;
+        private final double drift;
+        private final double sigma;
+
+        private PathTask(int from, int to, SplittableRandom random,
+                         double principal, double monthlyInvestment, double drift, double sigma) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.principal = principal;
+            this.monthlyInvestment = monthlyInvestment;
+            this.drift = drift;
+            this.sigma = sigma;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_PATHS) {
+                int mid = (from + to) >>> 1;
+                // Split before forking so the tree of generators does not depend on scheduling
+                SplittableRandom right = random.split();
+                invokeAll(new PathTask(from, mid, random, principal, monthlyInvestment, drift, sigma),
+                        new PathTask(mid, to, right, principal, monthlyInvestment, drift, sigma));
+                return;
+            }
+            int months = checkpointMonths[checkpointMonths.length - 1];
+            for (int path = from; path < to; path++) {
+                double value = principal;
+                int checkpoint = 0;
+                for (int month = 1; month <= months; month++) {
+                    value = (value + monthlyInvestment) * Math.exp(drift + sigma * random.nextGaussian());
+                    if (month == checkpointMonths[checkpoint]) {
+                        values[checkpoint * paths + path] = value;
+                        checkpoint++;
+                    }
+                }
+            }
+        }
+    }
+}
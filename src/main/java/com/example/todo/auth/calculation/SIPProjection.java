@@ -0,0 +1,108 @@
+package com.example.todo.auth.calculation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Month-by-month SIP growth held as primitive columns. The series is built with a
+ * running growth multiplier, so a projection costs one multiplication per month (plus
+ * one {@code Math.pow} per year) instead of a {@code Math.pow} call and two maps. Where
+ * the carried multiplier's rounding error could flip a cent, the month falls back to
+ * {@code Math.pow}, so rounded output matches the per-month formula exactly.
+ */
+public final class SIPProjection {
+
+    // Relative error one carried multiplication may add to the growth factor, with a safety margin
+    private static final double DRIFT_PER_STEP = 4 * Math.ulp(1.0);
+
+    private final double monthlyInvestment;
+    private final double[] cumulativeInvestment;
+    private final double[] interestEarned;
+    private final double[] totalValue;
+
+    private SIPProjection(double monthlyInvestment, int months) {
+        this.monthlyInvestment = monthlyInvestment;
+        this.cumulativeInvestment = new double[months];
+        this.interestEarned = new double[months];
+        this.totalValue = new double[months];
+    }
+
+    public static SIPProjection compute(double monthlyInvestment, double expectedReturn, int months) {
+        SIPProjection projection = new SIPProjection(monthlyInvestment, Math.max(months, 0));
+        double monthlyRate = expectedReturn / 12 / 100;
+        double growth = 1.0; // (1 + r)^month
+
+        for (int i = 0; i < projection.totalValue.length; i++) {
+            int month = i + 1;
+            // Re-anchor once a year so floating-point drift cannot reach the rounded cents
+            growth = month % 12 == 0 ? Math.pow(1 + monthlyRate, month) : growth * (1 + monthlyRate);
+
+            double currentValue = value(monthlyInvestment, monthlyRate, month, growth);
+            double investedSoFar = monthlyInvestment * month;
+
+            if (monthlyRate != 0 && month % 12 != 0) {
+                // The carried multiplier is a few ulps from Math.pow; too close to a half-cent, use the exact power
+                double toleranceCents = Math.abs(monthlyInvestment / monthlyRate * (1 + monthlyRate)) * growth
+                        * (month % 12 + 1) * DRIFT_PER_STEP * 100;
+                if (nearHalfCent(currentValue, toleranceCents)
+                        || nearHalfCent(currentValue - investedSoFar, toleranceCents)) {
+                    growth = Math.pow(1 + monthlyRate, month);
+                    currentValue = value(monthlyInvestment, monthlyRate, month, growth);
+                }
+            }
+
+            projection.totalValue[i] = round(currentValue);
+            projection.cumulativeInvestment[i] = round(investedSoFar);
+            projection.interestEarned[i] = round(currentValue - investedSoFar);
+        }
+        return projection;
+    }
+
+    // FV = P * [((1 + r)^n - 1) / r] * (1 + r), same evaluation order as SIP.calculateForPeriod
+    private static double value(double monthlyInvestment, double monthlyRate, int month, double growth) {
+        return monthlyRate == 0
+                ? monthlyInvestment * month
+                : monthlyInvestment * (growth - 1) / monthlyRate * (1 + monthlyRate);
+    }
+
+    private static boolean nearHalfCent(double value, double toleranceCents) {
+        double cents = value * 100.0;
+        return Math.abs(cents - Math.floor(cents) - 0.5) <= toleranceCents;
+    }
+
+    public int getMonths() {
+        return totalValue.length;
+    }
+
+    public double getCumulativeInvestment(int month) {
+        return cumulativeInvestment[month - 1];
+    }
+
+    public double getInterestEarned(int month) {
+        return interestEarned[month - 1];
+    }
+
+    public double getTotalValue(int month) {
+        return totalValue[month - 1];
+    }
+
+    // Writes the projection as a JSON array without materializing per-month objects
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (int i = 0; i < totalValue.length; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("month", i + 1);
+            generator.writeNumberField("monthlyInvestment", monthlyInvestment);
+            generator.writeNumberField("cumulativeInvestment", cumulativeInvestment[i]);
+            generator.writeNumberField("interestEarned", interestEarned[i]);
+            generator.writeNumberField("totalValue", totalValue[i]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todo.auth.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Per-user /summary/overview results, keyed by username
+    public static final String SIP_SUMMARIES = "sipSummaries";
+    public static final String EMI_SUMMARIES = "emiSummaries";
+    public static final String GOAL_SUMMARIES = "goalSummaries";
+    public static final String LUMP_SUM_SUMMARIES = "lumpSumSummaries";
+    public static final String INCOME_SOURCE_SUMMARIES = "incomeSourceSummaries";
+    public static final String INVESTMENT_OPTION_SUMMARIES = "investmentOptionSummaries";
+
+    // Writes evict the owner's summary after their transaction commits, so a reader
+    // cannot cache the pre-commit state again. The TTL bounds anything that slips
+    // through. Stats feed the cache.gets metric under /actuator/metrics, tagged
+    // cache=<cache name>, cache.manager=cacheManager and result=hit|miss.
+    @Bean
+    public CacheManager cacheManager(@Value("${summary.cache.max-size:10000}") long maxSize,
+                                     @Value("${summary.cache.ttl:60000}") long ttlMillis) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(SIP_SUMMARIES, EMI_SUMMARIES, GOAL_SUMMARIES,
+                LUMP_SUM_SUMMARIES, INCOME_SOURCE_SUMMARIES, INVESTMENT_OPTION_SUMMARIES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
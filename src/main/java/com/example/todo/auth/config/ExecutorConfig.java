@@ -0,0 +1,54 @@
+package com.example.todo.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // BCrypt is deliberately CPU-bound, so it gets its own small pool instead of
+    // running on request threads. When the queue is full new work is rejected
+    // rather than piling up behind a login storm.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${security.bcrypt.threads:0}") int threads,
+            @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Fan-out for GET /api/dashboard. Every running part holds a database connection,
+    // so the pool stays well below the connection pool size. Tasks run under the
+    // security context of the request that submitted them.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor(
+            @Value("${dashboard.threads:6}") int threads,
+            @Value("${dashboard.queue-capacity:120}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        return new DelegatingSecurityContextExecutorService(executor);
+    }
+
+    // Monte Carlo simulations are CPU-bound fork-join work; a pool of their own keeps
+    // them from competing with parallel streams on the common pool
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool simulationPool(@Value("${simulation.threads:0}") int threads) {
+        return new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -5,24 +5,26 @@ import com.example.todo.auth.dto.AuthRequest;
 import com.example.todo.auth.dto.AuthResponse;
 import com.example.todo.auth.dto.UserRegistration;
 import com.example.todo.auth.entity.User;
-import com.example.todo.auth.repository.UserRepository;
+import com.example.todo.auth.security.AuthenticatedUser;
+import com.example.todo.auth.security.JwtAuthenticationCache;
 import com.example.todo.auth.security.JwtUtil;
+import com.example.todo.auth.security.TokenRevocationList;
 import com.example.todo.auth.service.AuthService;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -30,36 +32,55 @@ public class AuthController {
     private AuthService authService;
 
     @Autowired
-    private UserRepository userRepository;
+    private JwtAuthenticationCache authenticationCache;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Value("${security.bcrypt.retry-after-seconds:1}")
+    private int retryAfterSeconds;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody UserRegistration registration) {
-        User user = authService.registerUser(registration);
-        return ResponseEntity.ok("User registered successfully: " + user.getUsername());
+        try {
+            User user = authService.registerUser(registration);
+            return ResponseEntity.ok("User registered successfully: " + user.getUsername());
+        } catch (RejectedExecutionException e) {
+            return serviceBusy();
+        }
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest) {
-        User user = userRepository.findByUsername(authRequest.getUsername())
-                .orElse(null);
-        if (user == null) {
-            // if not found by username, try email. This allows login by either username or email.
-            user = userRepository.findByEmail(authRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+        User user;
+        try {
+            user = authService.authenticate(authRequest.getUsername(), authRequest.getPassword());
+        } catch (RejectedExecutionException e) {
+            return serviceBusy();
         }
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(user.getUsername(), authRequest.getPassword())
-        );
-        final String jwt = jwtUtil.generateToken(
-                new org.springframework.security.core.userdetails.User(
-                        user.getUsername(),
-                        user.getPassword(),
-                        user.getRoles().stream()
-                                .map(role -> new org.springframework.security.core.authority.SimpleGrantedAuthority(role))
-                                .toList()
-                )
-        );
+        final String jwt = jwtUtil.generateToken(AuthenticatedUser.from(user));
 
         return ResponseEntity.ok(new AuthResponse(jwt, user.getUsername(), user.getEmail()));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body("Missing bearer token");
+        }
+        String jwt = authorizationHeader.substring(7);
+        try {
+            revocationList.revoke(jwtUtil.parseAndValidate(jwt));
+        } catch (JwtException e) {
+            // Invalid or expired tokens are already unusable
+        }
+        authenticationCache.invalidate(jwt);
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
+    private ResponseEntity<?> serviceBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("Too many concurrent sign-ins, please retry shortly");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo.auth.controller;
+
+import com.example.todo.auth.service.CashFlowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cash-flow")
+public class CashFlowController {
+
+    @Autowired
+    private CashFlowService cashFlowService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCashFlow(
+            @RequestParam(required = false) Integer years,
+            @RequestParam(required = false) Double monthlyExpenses,
+            @RequestParam(required = false) Double inflation,
+            Principal principal) {
+        try {
+            Map<String, Object> projection = cashFlowService.project(principal.getName(), years, monthlyExpenses, inflation);
+            return ResponseEntity.ok(projection);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Collections.emptyMap());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todo.auth.controller;
+
+import com.example.todo.auth.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            Principal principal) {
+        try {
+            YearMonth expenseMonth = year == null || month == null ? YearMonth.now() : YearMonth.of(year, month);
+            Map<String, Object> dashboard = dashboardService.getDashboard(principal.getName(), expenseMonth);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Collections.emptyMap());
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.calculation.AmortizationSchedule;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.EMIView;
 import com.example.todo.auth.entity.EMI;
 import com.example.todo.auth.service.EMIService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +32,9 @@ public class EMIController {
     @Autowired
     private EMIService emiService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<?> createEMI(@RequestBody EMI emi, Principal principal) {
         try {
@@ -29,10 +46,13 @@ public class EMIController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EMI>> getUserEMIs(Principal principal) {
+    public ResponseEntity<List<EMIView>> getUserEMIs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<EMI> emis = emiService.getUserEMIs(principal.getName());
-            return ResponseEntity.ok(emis);
+            CursorPage<EMIView> page = emiService.getUserEMIs(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +61,7 @@ public class EMIController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getEMIById(@PathVariable Long id, Principal principal) {
         try {
-            EMI emi = emiService.getEMIByIdAndUser(id, principal.getName());
+            EMIView emi = emiService.getEMIView(id, principal.getName());
             return ResponseEntity.ok(emi);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,6 +88,16 @@ public class EMIController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<EMI> request, Principal principal) {
+        try {
+            BatchResult<EMI> result = emiService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing EMI batch: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/{id}/payment")
     public ResponseEntity<?> makePayment(@PathVariable Long id, Principal principal) {
         try {
@@ -78,6 +108,53 @@ public class EMIController {
         }
     }
 
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<StreamingResponseBody> getSchedule(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "json") String format,
+                                                             @RequestParam(required = false) List<String> prepayment,
+                                                             Principal principal) {
+        try {
+            AmortizationSchedule schedule = emiService.getSchedule(id, principal.getName(),
+                    AmortizationSchedule.parsePrepayments(prepayment));
+
+            if ("csv".equalsIgnoreCase(format)) {
+                StreamingResponseBody body = outputStream -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                    schedule.writeCsv(writer);
+                    writer.flush();
+                };
+                return ResponseEntity.ok()
+                        .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"emi-" + id + "-schedule.csv\"")
+                        .body(body);
+            }
+            if (!"json".equalsIgnoreCase(format)) {
+                throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+
+            StreamingResponseBody body = outputStream -> {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                    schedule.writeJson(generator);
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            String message = "Error generating schedule: " + e.getMessage();
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @PostMapping("/recalculate")
+    public ResponseEntity<?> recalculateAll(Principal principal) {
+        try {
+            List<EMI> emis = emiService.recalculateAll(principal.getName());
+            return ResponseEntity.ok(emis);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error recalculating EMIs: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/summary/total-monthly")
     public ResponseEntity<Double> getTotalMonthlyEMI(Principal principal) {
         try {
@@ -1,11 +1,20 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.ExpenseView;
 import com.example.todo.auth.entity.Expense;
 import com.example.todo.auth.service.ExpenseService;
 import com.example.todo.auth.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.Collections;
@@ -20,6 +29,9 @@ public class ExpenseController {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<?> createExpense(@RequestBody Expense expense, Principal principal) {
         try {
@@ -31,22 +43,40 @@ public class ExpenseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Expense>> getUserExpenses(Principal principal) {
+    public ResponseEntity<List<ExpenseView>> getUserExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<Expense> expenses = expenseService.getUserExpenses(principal.getName());
-            return ResponseEntity.ok(expenses);
+            CursorPage<ExpenseView> page = expenseService.getUserExpenses(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUserExpenses(Principal principal) {
+        String username = principal.getName();
+        StreamingResponseBody body = outputStream -> {
+            // Same mapper settings as the regular JSON responses; rows go out as the buffer fills
+            try (SequenceWriter rows = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                expenseService.writeUserExpenses(username, rows);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/monthly")
-    public ResponseEntity<List<Expense>> getMonthlyExpenses(
+    public ResponseEntity<List<ExpenseView>> getMonthlyExpenses(
             @RequestParam int year,
             @RequestParam int month,
             Principal principal) {
         try {
-            List<Expense> expenses = expenseService.getMonthlyExpenses(principal.getName(), year, month);
+            List<ExpenseView> expenses = expenseService.getMonthlyExpenses(principal.getName(), year, month);
             return ResponseEntity.ok(expenses);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
@@ -69,7 +99,7 @@ public class ExpenseController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getExpenseById(@PathVariable Long id, Principal principal) {
         try {
-            Expense expense = expenseService.getExpenseByIdAndUser(id, principal.getName());
+            ExpenseView expense = expenseService.getExpenseView(id, principal.getName());
             return ResponseEntity.ok(expense);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -89,6 +119,19 @@ public class ExpenseController {
         }
     }
 
+    @GetMapping("/dashboard")
+    public ResponseEntity<Map<String, Object>> getMonthlyDashboard(
+            @RequestParam int year,
+            @RequestParam int month,
+            Principal principal) {
+        try {
+            Map<String, Object> dashboard = expenseService.getMonthlyDashboard(principal.getName(), year, month);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Collections.emptyMap());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateExpense(@PathVariable Long id, @RequestBody Expense expense, Principal principal) {
         try {
@@ -108,4 +151,14 @@ public class ExpenseController {
             return ResponseEntity.badRequest().body("Error deleting expense: " + e.getMessage());
         }
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<Expense> request, Principal principal) {
+        try {
+            BatchResult<Expense> result = expenseService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing expense batch: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.GoalView;
 import com.example.todo.auth.entity.Goal;
 import com.example.todo.auth.service.GoalService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,10 +33,13 @@ public class GoalController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Goal>> getUserGoals(Principal principal) {
+    public ResponseEntity<List<GoalView>> getUserGoals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<Goal> goals = goalService.getUserGoals(principal.getName());
-            return ResponseEntity.ok(goals);
+            CursorPage<GoalView> page = goalService.getUserGoals(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +48,7 @@ public class GoalController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getGoalById(@PathVariable Long id, Principal principal) {
         try {
-            Goal goal = goalService.getGoalByIdAndUser(id, principal.getName());
+            GoalView goal = goalService.getGoalView(id, principal.getName());
             return ResponseEntity.ok(goal);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,11 +75,21 @@ public class GoalController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<Goal> request, Principal principal) {
+        try {
+            BatchResult<Goal> result = goalService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing goal batch: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<?> getGoalsByCategory(@PathVariable String category, Principal principal) {
         try {
             Goal.GoalCategory goalCategory = Goal.GoalCategory.valueOf(category.toUpperCase());
-            List<Goal> goals = goalService.getGoalsByCategory(principal.getName(), goalCategory);
+            List<GoalView> goals = goalService.getGoalsByCategory(principal.getName(), goalCategory);
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid category or error retrieving goals: " + e.getMessage());
@@ -80,9 +97,9 @@ public class GoalController {
     }
 
     @GetMapping("/short-term")
-    public ResponseEntity<List<Goal>> getShortTermGoals(Principal principal) {
+    public ResponseEntity<List<GoalView>> getShortTermGoals(Principal principal) {
         try {
-            List<Goal> goals = goalService.getShortTermGoals(principal.getName());
+            List<GoalView> goals = goalService.getShortTermGoals(principal.getName());
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
@@ -90,9 +107,9 @@ public class GoalController {
     }
 
     @GetMapping("/medium-term")
-    public ResponseEntity<List<Goal>> getMediumTermGoals(Principal principal) {
+    public ResponseEntity<List<GoalView>> getMediumTermGoals(Principal principal) {
         try {
-            List<Goal> goals = goalService.getMediumTermGoals(principal.getName());
+            List<GoalView> goals = goalService.getMediumTermGoals(principal.getName());
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
@@ -100,9 +117,9 @@ public class GoalController {
     }
 
     @GetMapping("/long-term")
-    public ResponseEntity<List<Goal>> getLongTermGoals(Principal principal) {
+    public ResponseEntity<List<GoalView>> getLongTermGoals(Principal principal) {
         try {
-            List<Goal> goals = goalService.getLongTermGoals(principal.getName());
+            List<GoalView> goals = goalService.getLongTermGoals(principal.getName());
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
@@ -110,9 +127,9 @@ public class GoalController {
     }
 
     @GetMapping("/retirement")
-    public ResponseEntity<List<Goal>> getRetirementGoals(Principal principal) {
+    public ResponseEntity<List<GoalView>> getRetirementGoals(Principal principal) {
         try {
-            List<Goal> goals = goalService.getRetirementGoals(principal.getName());
+            List<GoalView> goals = goalService.getRetirementGoals(principal.getName());
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
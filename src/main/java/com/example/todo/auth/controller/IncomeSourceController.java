@@ -1,5 +1,11 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.ConsolidatedIncomeRow;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.IncomeProgressionRow;
+import com.example.todo.auth.dto.IncomeSourceView;
 import com.example.todo.auth.entity.IncomeSource;
 import com.example.todo.auth.service.IncomeSourceService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,10 +35,13 @@ public class IncomeSourceController {
     }
 
     @GetMapping
-    public ResponseEntity<List<IncomeSource>> getUserIncomeSources(Principal principal) {
+    public ResponseEntity<List<IncomeSourceView>> getUserIncomeSources(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<IncomeSource> incomeSources = incomeSourceService.getUserIncomeSources(principal.getName());
-            return ResponseEntity.ok(incomeSources);
+            CursorPage<IncomeSourceView> page = incomeSourceService.getUserIncomeSources(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +50,7 @@ public class IncomeSourceController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getIncomeSourceById(@PathVariable Long id, Principal principal) {
         try {
-            IncomeSource incomeSource = incomeSourceService.getIncomeSourceByIdAndUser(id, principal.getName());
+            IncomeSourceView incomeSource = incomeSourceService.getIncomeSourceView(id, principal.getName());
             return ResponseEntity.ok(incomeSource);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,6 +77,16 @@ public class IncomeSourceController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<IncomeSource> request, Principal principal) {
+        try {
+            BatchResult<IncomeSource> result = incomeSourceService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing income source batch: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/summary/overview")
     public ResponseEntity<Map<String, Object>> getIncomeSourceSummary(Principal principal) {
         try {
@@ -81,13 +100,23 @@ public class IncomeSourceController {
     @GetMapping("/{id}/progression")
     public ResponseEntity<?> getIncomeProgression(@PathVariable Long id, Principal principal) {
         try {
-            List<Map<String, Object>> progression = incomeSourceService.getIncomeProgression(id, principal.getName());
+            List<IncomeProgressionRow> progression = incomeSourceService.getIncomeProgression(id, principal.getName());
             return ResponseEntity.ok(progression);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error generating income progression: " + e.getMessage());
         }
     }
 
+    @GetMapping("/progression")
+    public ResponseEntity<?> getConsolidatedProgression(Principal principal) {
+        try {
+            List<ConsolidatedIncomeRow> timeline = incomeSourceService.getConsolidatedProgression(principal.getName());
+            return ResponseEntity.ok(timeline);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error generating consolidated income progression: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}/yearly-income")
     public ResponseEntity<?> getIncomeForYear(
             @PathVariable Long id,
@@ -1,5 +1,9 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.InvestmentOptionView;
 import com.example.todo.auth.entity.InvestmentOption;
 import com.example.todo.auth.service.InvestmentOptionService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,10 +33,13 @@ public class InvestmentOptionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<InvestmentOption>> getUserInvestmentOptions(Principal principal) {
+    public ResponseEntity<List<InvestmentOptionView>> getUserInvestmentOptions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<InvestmentOption> options = investmentOptionService.getUserInvestmentOptions(principal.getName());
-            return ResponseEntity.ok(options);
+            CursorPage<InvestmentOptionView> page = investmentOptionService.getUserInvestmentOptions(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +48,7 @@ public class InvestmentOptionController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getInvestmentOptionById(@PathVariable Long id, Principal principal) {
         try {
-            InvestmentOption option = investmentOptionService.getInvestmentOptionByIdAndUser(id, principal.getName());
+            InvestmentOptionView option = investmentOptionService.getInvestmentOptionView(id, principal.getName());
             return ResponseEntity.ok(option);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,12 +75,22 @@ public class InvestmentOptionController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<InvestmentOption> request, Principal principal) {
+        try {
+            BatchResult<InvestmentOption> result = investmentOptionService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing investment option batch: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<?> getInvestmentOptionsByCategory(@PathVariable String category, Principal principal) {
         try {
             InvestmentOption.InvestmentCategory investmentCategory =
                     InvestmentOption.InvestmentCategory.valueOf(category.toUpperCase());
-            List<InvestmentOption> options = investmentOptionService.getInvestmentOptionsByCategory(principal.getName(), investmentCategory);
+            List<InvestmentOptionView> options = investmentOptionService.getInvestmentOptionsByCategory(principal.getName(), investmentCategory);
             return ResponseEntity.ok(options);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid category or error retrieving options: " + e.getMessage());
@@ -84,7 +101,7 @@ public class InvestmentOptionController {
     public ResponseEntity<?> getInvestmentOptionsByRiskLevel(@PathVariable String riskLevel, Principal principal) {
         try {
             InvestmentOption.RiskLevel risk = InvestmentOption.RiskLevel.valueOf(riskLevel.toUpperCase());
-            List<InvestmentOption> options = investmentOptionService.getInvestmentOptionsByRiskLevel(principal.getName(), risk);
+            List<InvestmentOptionView> options = investmentOptionService.getInvestmentOptionsByRiskLevel(principal.getName(), risk);
             return ResponseEntity.ok(options);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid risk level or error retrieving options: " + e.getMessage());
@@ -95,7 +112,7 @@ public class InvestmentOptionController {
     public ResponseEntity<?> getInvestmentOptionsByLiquidity(@PathVariable String liquidity, Principal principal) {
         try {
             InvestmentOption.Liquidity liquidityLevel = InvestmentOption.Liquidity.valueOf(liquidity.toUpperCase());
-            List<InvestmentOption> options = investmentOptionService.getInvestmentOptionsByLiquidity(principal.getName(), liquidityLevel);
+            List<InvestmentOptionView> options = investmentOptionService.getInvestmentOptionsByLiquidity(principal.getName(), liquidityLevel);
             return ResponseEntity.ok(options);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid liquidity level or error retrieving options: " + e.getMessage());
@@ -108,7 +125,7 @@ public class InvestmentOptionController {
             @RequestParam Double maxCAGR,
             Principal principal) {
         try {
-            List<InvestmentOption> options = investmentOptionService.getInvestmentOptionsByCAGRRange(principal.getName(), minCAGR, maxCAGR);
+            List<InvestmentOptionView> options = investmentOptionService.getInvestmentOptionsByCAGRRange(principal.getName(), minCAGR, maxCAGR);
             return ResponseEntity.ok(options);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error retrieving options by CAGR range: " + e.getMessage());
@@ -130,13 +147,14 @@ public class InvestmentOptionController {
             @RequestParam String preferredRiskLevel,
             @RequestParam String preferredLiquidity,
             @RequestParam Double minExpectedCAGR,
+            @RequestParam(required = false) Integer limit,
             Principal principal) {
         try {
             InvestmentOption.RiskLevel riskLevel = InvestmentOption.RiskLevel.valueOf(preferredRiskLevel.toUpperCase());
             InvestmentOption.Liquidity liquidity = InvestmentOption.Liquidity.valueOf(preferredLiquidity.toUpperCase());
 
             List<Map<String, Object>> recommendations = investmentOptionService.getRecommendedOptions(
-                    principal.getName(), riskLevel, liquidity, minExpectedCAGR);
+                    principal.getName(), riskLevel, liquidity, minExpectedCAGR, limit);
 
             return ResponseEntity.ok(recommendations);
         } catch (Exception e) {
@@ -1,7 +1,12 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.LumpSumView;
 import com.example.todo.auth.entity.LumpSum;
 import com.example.todo.auth.service.LumpSumService;
+import com.example.todo.auth.service.SimulationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +23,9 @@ public class LumpSumController {
     @Autowired
     private LumpSumService lumpSumService;
 
+    @Autowired
+    private SimulationService simulationService;
+
     @PostMapping
     public ResponseEntity<?> createLumpSum(@RequestBody LumpSum lumpSum, Principal principal) {
         try {
@@ -29,10 +37,13 @@ public class LumpSumController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LumpSum>> getUserLumpSums(Principal principal) {
+    public ResponseEntity<List<LumpSumView>> getUserLumpSums(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<LumpSum> lumpSums = lumpSumService.getUserLumpSums(principal.getName());
-            return ResponseEntity.ok(lumpSums);
+            CursorPage<LumpSumView> page = lumpSumService.getUserLumpSums(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +52,7 @@ public class LumpSumController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getLumpSumById(@PathVariable Long id, Principal principal) {
         try {
-            LumpSum lumpSum = lumpSumService.getLumpSumByIdAndUser(id, principal.getName());
+            LumpSumView lumpSum = lumpSumService.getLumpSumView(id, principal.getName());
             return ResponseEntity.ok(lumpSum);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,6 +79,16 @@ public class LumpSumController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<LumpSum> request, Principal principal) {
+        try {
+            BatchResult<LumpSum> result = lumpSumService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing LumpSum batch: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/summary/overview")
     public ResponseEntity<Map<String, Object>> getLumpSumSummary(Principal principal) {
         try {
@@ -112,4 +133,20 @@ public class LumpSumController {
             return ResponseEntity.badRequest().body("Error getting top performers: " + e.getMessage());
         }
     }
+
+    @GetMapping("/{id}/simulation")
+    public ResponseEntity<?> getLumpSumSimulation(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long optionId,
+            @RequestParam(required = false) Double volatility,
+            @RequestParam(required = false) Integer paths,
+            @RequestParam(required = false) Long seed,
+            Principal principal) {
+        try {
+            Map<String, Object> simulation = simulationService.simulateLumpSum(id, optionId, volatility, paths, seed, principal.getName());
+            return ResponseEntity.ok(simulation);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error running simulation: " + e.getMessage());
+        }
+    }
 }
@@ -1,11 +1,22 @@
 package com.example.todo.auth.controller;
 
+import com.example.todo.auth.calculation.SIPProjection;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.SIPView;
 import com.example.todo.auth.entity.SIP;
 import com.example.todo.auth.service.SIPService;
+import com.example.todo.auth.service.SimulationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +29,12 @@ public class SIPController {
     @Autowired
     private SIPService sipService;
 
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<?> createSIP(@RequestBody SIP sip, Principal principal) {
         try {
@@ -29,10 +46,13 @@ public class SIPController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SIP>> getUserSIPs(Principal principal) {
+    public ResponseEntity<List<SIPView>> getUserSIPs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
         try {
-            List<SIP> sips = sipService.getUserSIPs(principal.getName());
-            return ResponseEntity.ok(sips);
+            CursorPage<SIPView> page = sipService.getUserSIPs(principal.getName(), cursor, size);
+            return page.toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
@@ -41,7 +61,7 @@ public class SIPController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getSIPById(@PathVariable Long id, Principal principal) {
         try {
-            SIP sip = sipService.getSIPByIdAndUser(id, principal.getName());
+            SIPView sip = sipService.getSIPView(id, principal.getName());
             return ResponseEntity.ok(sip);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
@@ -68,6 +88,16 @@ public class SIPController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<SIP> request, Principal principal) {
+        try {
+            BatchResult<SIP> result = sipService.applyBatch(request, principal.getName());
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing SIP batch: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/summary/total-monthly")
     public ResponseEntity<Double> getTotalMonthlyInvestment(Principal principal) {
         try {
@@ -102,12 +132,35 @@ public class SIPController {
     }
 
     @GetMapping("/{id}/projection")
-    public ResponseEntity<?> getSIPProjection(@PathVariable Long id, Principal principal) {
+    public ResponseEntity<StreamingResponseBody> getSIPProjection(@PathVariable Long id, Principal principal) {
+        try {
+            SIPProjection projection = sipService.getSIPProjection(id, principal.getName());
+            StreamingResponseBody body = outputStream -> {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                    projection.writeJson(generator);
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            String message = "Error generating projection: " + e.getMessage();
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @GetMapping("/{id}/simulation")
+    public ResponseEntity<?> getSIPSimulation(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long optionId,
+            @RequestParam(required = false) Double volatility,
+            @RequestParam(required = false) Integer paths,
+            @RequestParam(required = false) Long seed,
+            Principal principal) {
         try {
-            List<Map<String, Object>> projection = sipService.getSIPProjection(id, principal.getName());
-            return ResponseEntity.ok(projection);
+            Map<String, Object> simulation = simulationService.simulateSIP(id, optionId, volatility, paths, seed, principal.getName());
+            return ResponseEntity.ok(simulation);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error generating projection: " + e.getMessage());
+            return ResponseEntity.badRequest().body("Error running simulation: " + e.getMessage());
         }
     }
 }
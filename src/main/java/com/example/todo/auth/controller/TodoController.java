@@ -1,17 +1,28 @@
 package com.example.todo.auth.controller;
 
 // TodoController.java
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
 import com.example.todo.auth.dto.TodoRequest;
+import com.example.todo.auth.dto.TodoView;
 import com.example.todo.auth.entity.Todo;
 import com.example.todo.auth.entity.User;
-import com.example.todo.auth.repository.UserRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import com.example.todo.auth.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -22,32 +33,54 @@ public class TodoController {
     private TodoService todoService;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     private User getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserResolver.resolve(authentication.getName());
     }
 
     @GetMapping
-    public ResponseEntity<List<Todo>> getUserTodos(Authentication authentication) {
+    public ResponseEntity<List<TodoView>> getUserTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
         User user = getCurrentUser(authentication);
-        List<Todo> todos = todoService.getUserTodos(user);
-        return ResponseEntity.ok(todos);
+        try {
+            CursorPage<TodoView> page = todoService.getUserTodos(user, cursor, size);
+            return page.toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUserTodos(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter rows = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                todoService.writeUserTodos(user, rows);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/completed")
-    public ResponseEntity<List<Todo>> getCompletedTodos(Authentication authentication) {
+    public ResponseEntity<List<TodoView>> getCompletedTodos(Authentication authentication) {
         User user = getCurrentUser(authentication);
-        List<Todo> todos = todoService.getUserTodosByCompletion(user, true);
+        List<TodoView> todos = todoService.getUserTodosByCompletion(user, true);
         return ResponseEntity.ok(todos);
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Todo>> getPendingTodos(Authentication authentication) {
+    public ResponseEntity<List<TodoView>> getPendingTodos(Authentication authentication) {
         User user = getCurrentUser(authentication);
-        List<Todo> todos = todoService.getUserTodosByCompletion(user, false);
+        List<TodoView> todos = todoService.getUserTodosByCompletion(user, false);
         return ResponseEntity.ok(todos);
     }
 
@@ -60,20 +93,20 @@ public class TodoController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Todo> updateTodo(@PathVariable Long id,
-                                           @Valid @RequestBody TodoRequest request,
-                                           Authentication authentication) {
+    public ResponseEntity<TodoView> updateTodo(@PathVariable Long id,
+                                               @Valid @RequestBody TodoRequest request,
+                                               Authentication authentication) {
         User user = getCurrentUser(authentication);
-        Optional<Todo> updatedTodo = todoService.updateTodo(id, request, user);
+        Optional<TodoView> updatedTodo = todoService.updateTodo(id, request, user);
         return updatedTodo.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PatchMapping("/{id}/toggle")
-    public ResponseEntity<Todo> toggleTodoCompletion(@PathVariable Long id,
-                                                     Authentication authentication) {
+    public ResponseEntity<TodoView> toggleTodoCompletion(@PathVariable Long id,
+                                                         Authentication authentication) {
         User user = getCurrentUser(authentication);
-        Optional<Todo> updatedTodo = todoService.toggleTodoCompletion(id, user);
+        Optional<TodoView> updatedTodo = todoService.toggleTodoCompletion(id, user);
         return updatedTodo.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -88,4 +121,30 @@ public class TodoController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @PatchMapping("/complete-all")
+    public ResponseEntity<Map<String, Object>> completeAllTodos(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        int updated = todoService.completeAllTodos(user);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    @DeleteMapping("/completed")
+    public ResponseEntity<Map<String, Object>> deleteCompletedTodos(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        int deleted = todoService.deleteCompletedTodos(user);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody BatchRequest<TodoRequest> request,
+                                        Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        try {
+            BatchResult<Todo> result = todoService.applyBatch(request, user);
+            return result.hasErrors() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
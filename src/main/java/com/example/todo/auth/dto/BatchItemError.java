@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// BatchItemError.java
+
+/**
+ * Why one item of a batch was rejected. {@code item} is the position in the create list,
+ * or the id for updates and deletes.
+ */
+public record BatchItemError(String operation, long item, String message) {
+}
@@ -0,0 +1,24 @@
+package com.example.todo.auth.dto;
+
+// BatchRequest.java
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates, updates and deletes applied together in one transaction. Updates are keyed
+ * by id and replace the same fields as the single-item PUT.
+ */
+public record BatchRequest<T>(List<T> create, Map<Long, T> update, List<Long> delete) {
+
+    public BatchRequest {
+        create = create == null ? Collections.emptyList() : create;
+        update = update == null ? Collections.emptyMap() : update;
+        delete = delete == null ? Collections.emptyList() : delete;
+    }
+
+    public int size() {
+        return create.size() + update.size() + delete.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todo.auth.dto;
+
+// BatchResult.java
+
+import java.util.List;
+
+/**
+ * Outcome of a batch. A batch with errors is rejected as a whole, so nothing is created,
+ * updated or deleted in that case.
+ */
+public record BatchResult<T>(List<T> created, List<T> updated, int deleted, List<BatchItemError> errors) {
+
+    public static <T> BatchResult<T> rejected(List<BatchItemError> errors) {
+        return new BatchResult<>(List.of(), List.of(), 0, errors);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
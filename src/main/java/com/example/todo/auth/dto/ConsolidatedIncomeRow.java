@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// ConsolidatedIncomeRow.java
+
+public record ConsolidatedIncomeRow(int year,
+                                    double totalMonthlyIncome,
+                                    double totalAnnualIncome,
+                                    double cumulativeIncome,
+                                    int activeSources) {
+}
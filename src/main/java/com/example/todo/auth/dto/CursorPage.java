@@ -0,0 +1,49 @@
+package com.example.todo.auth.dto;
+
+// CursorPage.java
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. The body stays a plain list; the token for
+ * the next page travels in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Also the page size for callers that do not ask for one
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return MAX_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    // One extra row tells whether another page follows
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, int pageSize, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= pageSize) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, pageSize);
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// EMISummary.java
+
+public record EMISummary(long count,
+                         double totalPrincipal,
+                         double totalMonthlyEMI,
+                         double totalPaid,
+                         double remainingPrincipal) {
+}
@@ -0,0 +1,21 @@
+package com.example.todo.auth.dto;
+
+// EMIView.java
+
+import java.time.LocalDateTime;
+
+public record EMIView(Long id,
+                      String emiForName,
+                      Double principal,
+                      Double annualInterestRate,
+                      Integer totalTenure,
+                      Integer tenuresPaid,
+                      Double emiAmount,
+                      Double principalPaidSoFar,
+                      Double interestPaidSoFar,
+                      Double remainingPrincipal,
+                      Double interestToBePaid,
+                      Integer remainingTenure,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt) {
+}
@@ -0,0 +1,6 @@
+package com.example.todo.auth.dto;
+
+// ExpenseCategoryTotal.java
+
+public record ExpenseCategoryTotal(String category, double total) {
+}
@@ -0,0 +1,11 @@
+package com.example.todo.auth.dto;
+
+// ExpenseDailyCategoryTotal.java
+
+import java.time.LocalDate;
+
+public record ExpenseDailyCategoryTotal(LocalDate date,
+                                        String category,
+                                        double total,
+                                        long count) {
+}
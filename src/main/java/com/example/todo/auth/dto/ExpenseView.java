@@ -0,0 +1,13 @@
+package com.example.todo.auth.dto;
+
+// ExpenseView.java
+
+import java.time.LocalDate;
+
+public record ExpenseView(Long id,
+                          String category,
+                          Double amount,
+                          LocalDate date,
+                          String description,
+                          Double inflationRate) {
+}
@@ -0,0 +1,11 @@
+package com.example.todo.auth.dto;
+
+// GoalCategoryTotals.java
+
+import com.example.todo.auth.entity.Goal;
+
+public record GoalCategoryTotals(Goal.GoalCategory category,
+                                 long count,
+                                 double totalTargetAmount,
+                                 long totalDuration) {
+}
@@ -0,0 +1,36 @@
+package com.example.todo.auth.dto;
+
+// GoalView.java
+
+import com.example.todo.auth.entity.Goal;
+
+import java.time.LocalDateTime;
+
+public record GoalView(Long id,
+                       String name,
+                       Goal.GoalCategory category,
+                       Integer duration,
+                       Double targetAmount,
+                       String notes,
+                       Double inflationAdjustedAmount,
+                       Double inflationRate,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+
+    // Same derived fields the entity exposes to the UI
+    public Double getMonthlySavingsRequired() {
+        return Goal.monthlySavingsRequired(targetAmount, duration);
+    }
+
+    public String getCategoryColor() {
+        return Goal.categoryColor(category);
+    }
+
+    public String getCategoryIcon() {
+        return Goal.categoryIcon(category);
+    }
+
+    public String getPriority() {
+        return Goal.priority(category);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// IncomeProgressionRow.java
+
+public record IncomeProgressionRow(int year,
+                                   double monthlyIncome,
+                                   double annualIncome,
+                                   double cumulativeIncome,
+                                   double growthFromStart) {
+}
@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// IncomeSourceSummary.java
+
+public record IncomeSourceSummary(long count,
+                                  double totalInitialMonthlyIncome,
+                                  double totalProjectedMonthlyIncome,
+                                  double totalAmountReceived,
+                                  double averageGrowthRate) {
+}
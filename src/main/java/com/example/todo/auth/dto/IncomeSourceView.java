@@ -0,0 +1,37 @@
+package com.example.todo.auth.dto;
+
+// IncomeSourceView.java
+
+import com.example.todo.auth.entity.IncomeSource;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record IncomeSourceView(Long id,
+                               String sourceName,
+                               Double initialMonthlyIncome,
+                               Double annualGrowthRate,
+                               Integer years,
+                               Double projectedMonthlyIncome,
+                               Double totalAmountReceived,
+                               LocalDateTime createdAt,
+                               LocalDateTime updatedAt,
+                               @JsonInclude(JsonInclude.Include.NON_NULL)
+                               List<IncomeProgressionRow> yearlyIncomeProgression) {
+
+    // Used by the list queries, which leave the progression out
+    public IncomeSourceView(Long id, String sourceName, Double initialMonthlyIncome, Double annualGrowthRate,
+                            Integer years, Double projectedMonthlyIncome, Double totalAmountReceived,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, sourceName, initialMonthlyIncome, annualGrowthRate, years, projectedMonthlyIncome,
+                totalAmountReceived, createdAt, updatedAt, null);
+    }
+
+    // The detail response keeps the yearly progression the entity used to serialise
+    public IncomeSourceView withYearlyIncomeProgression() {
+        return new IncomeSourceView(id, sourceName, initialMonthlyIncome, annualGrowthRate, years,
+                projectedMonthlyIncome, totalAmountReceived, createdAt, updatedAt,
+                IncomeSource.yearlyIncomeProgression(initialMonthlyIncome, annualGrowthRate, years));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.todo.auth.dto;
+
+// InvestmentOptionCandidate.java
+
+import com.example.todo.auth.entity.InvestmentOption;
+
+// The columns recommendations rank on, without the free-text fields
+public record InvestmentOptionCandidate(Long id,
+                                        String name,
+                                        InvestmentOption.InvestmentCategory category,
+                                        Double averageCAGR,
+                                        InvestmentOption.RiskLevel riskLevel,
+                                        InvestmentOption.Liquidity liquidity) {
+}
@@ -0,0 +1,37 @@
+package com.example.todo.auth.dto;
+
+// InvestmentOptionView.java
+
+import com.example.todo.auth.entity.InvestmentOption;
+
+import java.time.LocalDateTime;
+
+public record InvestmentOptionView(Long id,
+                                   String name,
+                                   InvestmentOption.InvestmentCategory category,
+                                   Double minCAGR,
+                                   Double maxCAGR,
+                                   InvestmentOption.RiskLevel riskLevel,
+                                   InvestmentOption.Liquidity liquidity,
+                                   String taxEfficiency,
+                                   String notes,
+                                   LocalDateTime createdAt,
+                                   LocalDateTime updatedAt) {
+
+    // Same derived fields the entity exposes to the UI
+    public Double getAverageCAGR() {
+        return InvestmentOption.averageCAGR(minCAGR, maxCAGR);
+    }
+
+    public String getRiskColor() {
+        return InvestmentOption.riskColor(riskLevel);
+    }
+
+    public String getLiquidityIcon() {
+        return InvestmentOption.liquidityIcon(liquidity);
+    }
+
+    public String getCategoryIcon() {
+        return InvestmentOption.categoryIcon(category);
+    }
+}
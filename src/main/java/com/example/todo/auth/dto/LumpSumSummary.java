@@ -0,0 +1,10 @@
+package com.example.todo.auth.dto;
+
+// LumpSumSummary.java
+
+public record LumpSumSummary(long count,
+                             double totalPrincipal,
+                             double totalFutureValue,
+                             double totalInterest,
+                             double averageReturn) {
+}
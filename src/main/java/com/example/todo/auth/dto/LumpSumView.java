@@ -0,0 +1,38 @@
+package com.example.todo.auth.dto;
+
+// LumpSumView.java
+
+import com.example.todo.auth.entity.LumpSum;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record LumpSumView(Long id,
+                          String investmentName,
+                          Double principalAmount,
+                          Integer duration,
+                          Double expectedReturn,
+                          Double futureValue,
+                          Double totalInterest,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt,
+                          @JsonInclude(JsonInclude.Include.NON_NULL)
+                          List<Map<String, Object>> yearlyProjection) {
+
+    // Used by the list queries, which leave the projection out
+    public LumpSumView(Long id, String investmentName, Double principalAmount, Integer duration,
+                       Double expectedReturn, Double futureValue, Double totalInterest,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, investmentName, principalAmount, duration, expectedReturn, futureValue, totalInterest,
+                createdAt, updatedAt, null);
+    }
+
+    // The detail response keeps the yearly projection the entity used to serialise
+    public LumpSumView withYearlyProjection() {
+        return new LumpSumView(id, investmentName, principalAmount, duration, expectedReturn, futureValue,
+                totalInterest, createdAt, updatedAt,
+                LumpSum.yearlyProjection(principalAmount, expectedReturn, duration));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todo.auth.dto;
+
+// PageCursor.java
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: its sort key and id, plus an optional leading
+ * group (e.g. the goal category). Clients only see it as an opaque token.
+ */
+public record PageCursor(String group, LocalDateTime position, long id) {
+
+    public static PageCursor of(LocalDateTime position, long id) {
+        return new PageCursor(null, position, id);
+    }
+
+    public String encode() {
+        String raw = (group == null ? "" : group) + "|" + position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(parts[0].isEmpty() ? null : parts[0],
+                    LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.todo.auth.dto;
+
+// SIPSummary.java
+
+public record SIPSummary(long count,
+                         double totalMonthlyInvestment,
+                         double totalFutureValue,
+                         double totalInvestment,
+                         double totalExpectedInterest,
+                         double averageReturn) {
+}
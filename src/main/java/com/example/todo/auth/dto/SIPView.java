@@ -0,0 +1,17 @@
+package com.example.todo.auth.dto;
+
+// SIPView.java
+
+import java.time.LocalDateTime;
+
+public record SIPView(Long id,
+                      String investmentOnName,
+                      Double monthlyInvestment,
+                      Integer duration,
+                      Double expectedReturn,
+                      Double futureValue,
+                      Double totalInvestment,
+                      Double totalInterestPaid,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt) {
+}
@@ -0,0 +1,13 @@
+package com.example.todo.auth.dto;
+
+// TodoView.java
+
+import java.time.LocalDateTime;
+
+public record TodoView(Long id,
+                       String title,
+                       String description,
+                       boolean completed,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+}
@@ -1,28 +1,40 @@
 package com.example.todo.auth.entity;
 
+import com.example.todo.auth.calculation.Amortization;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "emis")
+@Table(name = "emis", indexes = {
+        @Index(name = "idx_emis_user_created", columnList = "user_id, created_at")
+})
 public class EMI {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "emi_ids")
+    @TableGenerator(name = "emi_ids", table = "hibernate_sequences", pkColumnValue = "emis", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "emi_for_name", nullable = false)
     private String emiForName;
 
+    @NotNull
     @Column(name = "principal", nullable = false)
     private Double principal;
 
+    @NotNull
     @Column(name = "annual_interest_rate", nullable = false)
     private Double annualInterestRate;
 
+    @NotNull
     @Column(name = "total_tenure", nullable = false)
     private Integer totalTenure;
 
+    @NotNull
     @Column(name = "tenures_paid", nullable = false)
     private Integer tenuresPaid = 0;
 
@@ -44,6 +56,7 @@ public class EMI {
     @Column(name = "remaining_tenure")
     private Integer remainingTenure;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -54,6 +67,10 @@ public class EMI {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when an input changes; derived fields are recomputed once, on persist or update
+    @Transient
+    private boolean recalculationPending;
+
     // Constructors
     public EMI() {
         this.createdAt = LocalDateTime.now();
@@ -92,7 +109,7 @@ public class EMI {
 
     public void setPrincipal(Double principal) {
         this.principal = principal;
-        calculateEMI();
+        this.recalculationPending = true;
     }
 
     public Double getAnnualInterestRate() {
@@ -101,7 +118,7 @@ public class EMI {
 
     public void setAnnualInterestRate(Double annualInterestRate) {
         this.annualInterestRate = annualInterestRate;
-        calculateEMI();
+        this.recalculationPending = true;
     }
 
     public Integer getTotalTenure() {
@@ -110,7 +127,7 @@ public class EMI {
 
     public void setTotalTenure(Integer totalTenure) {
         this.totalTenure = totalTenure;
-        calculateEMI();
+        this.recalculationPending = true;
     }
 
     public Integer getTenuresPaid() {
@@ -119,7 +136,7 @@ public class EMI {
 
     public void setTenuresPaid(Integer tenuresPaid) {
         this.tenuresPaid = tenuresPaid;
-        calculateRemainingDetails();
+        this.recalculationPending = true;
     }
 
     public Double getEmiAmount() {
@@ -197,48 +214,23 @@ public class EMI {
     // EMI Calculation Methods
     public void calculateEMI() {
         if (principal != null && annualInterestRate != null && totalTenure != null) {
-            double monthlyInterestRate = annualInterestRate / 12 / 100;
-            double emi = principal * monthlyInterestRate *
-                    Math.pow(1 + monthlyInterestRate, totalTenure) /
-                    (Math.pow(1 + monthlyInterestRate, totalTenure) - 1);
-            this.emiAmount = Math.round(emi * 100.0) / 100.0;
+            this.recalculationPending = false;
+            this.emiAmount = Amortization.installment(principal, annualInterestRate, totalTenure);
             calculateRemainingDetails();
         }
     }
 
     public void calculateRemainingDetails() {
-        if (principal != null && annualInterestRate != null && totalTenure != null && tenuresPaid != null) {
-            double monthlyInterestRate = annualInterestRate / 12 / 100;
-            double remainingPrincipal = principal;
-            double totalInterestPaid = 0.0;
-            double totalPrincipalPaid = 0.0;
-
-            // Calculate paid amounts
-            for (int i = 0; i < tenuresPaid; i++) {
-                double interestComponent = remainingPrincipal * monthlyInterestRate;
-                double principalComponent = emiAmount - interestComponent;
-
-                totalInterestPaid += interestComponent;
-                totalPrincipalPaid += principalComponent;
-                remainingPrincipal -= principalComponent;
-            }
-
-            this.principalPaidSoFar = Math.round(totalPrincipalPaid * 100.0) / 100.0;
-            this.interestPaidSoFar = Math.round(totalInterestPaid * 100.0) / 100.0;
-            this.remainingPrincipal = Math.round(remainingPrincipal * 100.0) / 100.0;
+        if (principal != null && annualInterestRate != null && totalTenure != null && tenuresPaid != null
+                && emiAmount != null) {
+            Amortization amortization = Amortization.compute(
+                    principal, annualInterestRate, totalTenure, tenuresPaid, emiAmount);
+
+            this.principalPaidSoFar = amortization.getPrincipalPaid();
+            this.interestPaidSoFar = amortization.getInterestPaid();
+            this.remainingPrincipal = amortization.getRemainingPrincipal();
             this.remainingTenure = totalTenure - tenuresPaid;
-
-            // Calculate remaining interest
-            double remainingInterest = 0.0;
-            double tempPrincipal = remainingPrincipal;
-            for (int i = 0; i < remainingTenure; i++) {
-                double interestComponent = tempPrincipal * monthlyInterestRate;
-                double principalComponent = emiAmount - interestComponent;
-                remainingInterest += interestComponent;
-                tempPrincipal -= principalComponent;
-            }
-
-            this.interestToBePaid = Math.round(remainingInterest * 100.0) / 100.0;
+            this.interestToBePaid = amortization.getRemainingInterest();
             this.updatedAt = LocalDateTime.now();
         }
     }
@@ -250,8 +242,12 @@ public class EMI {
         }
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        if (recalculationPending) {
+            calculateEMI();
+        }
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -1,19 +1,28 @@
 package com.example.todo.auth.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date", columnList = "user_id, date"),
+        @Index(name = "idx_expenses_user_category", columnList = "user_id, category")
+})
 public class Expense {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_ids")
+    @TableGenerator(name = "expense_ids", table = "hibernate_sequences", pkColumnValue = "expenses", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(nullable = false)
     private String category;
 
+    @NotNull
     @Column(nullable = false)
     private Double amount;
 
@@ -24,6 +33,7 @@ public class Expense {
 
     private Double inflationRate;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
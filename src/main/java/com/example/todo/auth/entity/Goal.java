@@ -1,28 +1,39 @@
 package com.example.todo.auth.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @Entity
-@Table(name = "goals")
+@Table(name = "goals", indexes = {
+        @Index(name = "idx_goals_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_goals_user_category", columnList = "user_id, category, created_at")
+})
 public class Goal {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "goal_ids")
+    @TableGenerator(name = "goal_ids", table = "hibernate_sequences", pkColumnValue = "goals", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
     @Enumerated(EnumType.STRING)
+    @NotNull
     @Column(name = "category", nullable = false, length = 20)
     private GoalCategory category;
 
+    @NotNull
     @Column(name = "duration", nullable = false)
     private Integer duration; // in years
 
+    @NotNull
     @Column(name = "target_amount", nullable = false)
     private Double targetAmount;
 
@@ -35,6 +46,7 @@ public class Goal {
     @Column(name = "inflation_rate")
     private Double inflationRate = 6.0; // Default inflation rate
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -50,6 +62,10 @@ public class Goal {
         SHORT_TERM, MEDIUM_TERM, LONG_TERM, RETIREMENT
     }
 
+    // Set when an input changes; derived fields are recomputed once, on persist or update
+    @Transient
+    private boolean recalculationPending;
+
     // Constructors
     public Goal() {
         this.createdAt = LocalDateTime.now();
@@ -96,7 +112,7 @@ public class Goal {
 
     public void setDuration(Integer duration) {
         this.duration = duration;
-        calculateInflationAdjustedAmount();
+        this.recalculationPending = true;
     }
 
     public Double getTargetAmount() {
@@ -105,7 +121,7 @@ public class Goal {
 
     public void setTargetAmount(Double targetAmount) {
         this.targetAmount = targetAmount;
-        calculateInflationAdjustedAmount();
+        this.recalculationPending = true;
     }
 
     public String getNotes() {
@@ -130,7 +146,7 @@ public class Goal {
 
     public void setInflationRate(Double inflationRate) {
         this.inflationRate = inflationRate;
-        calculateInflationAdjustedAmount();
+        this.recalculationPending = true;
     }
 
     public User getUser() {
@@ -160,6 +176,7 @@ public class Goal {
     // Calculation Methods
     public void calculateInflationAdjustedAmount() {
         if (targetAmount != null && duration != null && inflationRate != null) {
+            this.recalculationPending = false;
             // Calculate inflation adjusted amount: FV = PV * (1 + r)^n
             double adjustedAmount = targetAmount * Math.pow(1 + (inflationRate / 100), duration);
             this.inflationAdjustedAmount = Math.round(adjustedAmount * 100.0) / 100.0;
@@ -168,6 +185,10 @@ public class Goal {
 
     // Calculate monthly savings required (assuming 0% return for simplicity)
     public Double getMonthlySavingsRequired() {
+        return monthlySavingsRequired(targetAmount, duration);
+    }
+
+    public static Double monthlySavingsRequired(Double targetAmount, Integer duration) {
         if (targetAmount != null && duration != null) {
             double totalMonths = duration * 12.0;
             double monthlySavings = targetAmount / totalMonths;
@@ -210,6 +231,10 @@ public class Goal {
 
     // Get category color for UI
     public String getCategoryColor() {
+        return categoryColor(category);
+    }
+
+    public static String categoryColor(GoalCategory category) {
         switch (category) {
             case SHORT_TERM: return "info";
             case MEDIUM_TERM: return "warning";
@@ -221,6 +246,10 @@ public class Goal {
 
     // Get category icon for UI
     public String getCategoryIcon() {
+        return categoryIcon(category);
+    }
+
+    public static String categoryIcon(GoalCategory category) {
         switch (category) {
             case SHORT_TERM: return "fa-bolt";
             case MEDIUM_TERM: return "fa-chart-line";
@@ -232,6 +261,10 @@ public class Goal {
 
     // Get priority based on category and duration
     public String getPriority() {
+        return priority(category);
+    }
+
+    public static String priority(GoalCategory category) {
         switch (category) {
             case SHORT_TERM: return "HIGH";
             case MEDIUM_TERM: return "MEDIUM";
@@ -241,10 +274,13 @@ public class Goal {
         }
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        if (recalculationPending) {
+            calculateInflationAdjustedAmount();
+        }
         this.updatedAt = LocalDateTime.now();
-        calculateInflationAdjustedAmount();
     }
 
     @Override
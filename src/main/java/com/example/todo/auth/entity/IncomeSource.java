@@ -1,29 +1,41 @@
 package com.example.todo.auth.entity;
 
+import com.example.todo.auth.calculation.IncomeProgression;
+import com.example.todo.auth.dto.IncomeProgressionRow;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "income_sources")
+@Table(name = "income_sources", indexes = {
+        @Index(name = "idx_income_sources_user_created", columnList = "user_id, created_at")
+})
 public class IncomeSource {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "income_source_ids")
+    @TableGenerator(name = "income_source_ids", table = "hibernate_sequences", pkColumnValue = "income_sources", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "source_name", nullable = false)
     private String sourceName;
 
+    @NotNull
     @Column(name = "initial_monthly_income", nullable = false)
     private Double initialMonthlyIncome;
 
+    @NotNull
     @Column(name = "annual_growth_rate", nullable = false)
     private Double annualGrowthRate; // percentage
 
+    @NotNull
     @Column(name = "years", nullable = false)
     private Integer years;
 
@@ -33,6 +45,7 @@ public class IncomeSource {
     @Column(name = "total_amount_received")
     private Double totalAmountReceived;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -43,6 +56,10 @@ public class IncomeSource {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when an input changes; derived fields are recomputed once, on persist or update
+    @Transient
+    private boolean recalculationPending;
+
     // Constructors
     public IncomeSource() {
         this.createdAt = LocalDateTime.now();
@@ -81,7 +98,7 @@ public class IncomeSource {
 
     public void setInitialMonthlyIncome(Double initialMonthlyIncome) {
         this.initialMonthlyIncome = initialMonthlyIncome;
-        calculateIncomeProjection();
+        this.recalculationPending = true;
     }
 
     public Double getAnnualGrowthRate() {
@@ -90,7 +107,7 @@ public class IncomeSource {
 
     public void setAnnualGrowthRate(Double annualGrowthRate) {
         this.annualGrowthRate = annualGrowthRate;
-        calculateIncomeProjection();
+        this.recalculationPending = true;
     }
 
     public Integer getYears() {
@@ -99,7 +116,7 @@ public class IncomeSource {
 
     public void setYears(Integer years) {
         this.years = years;
-        calculateIncomeProjection();
+        this.recalculationPending = true;
     }
 
     public Double getProjectedMonthlyIncome() {
@@ -145,6 +162,7 @@ public class IncomeSource {
     // Income Projection Calculation Methods
     public void calculateIncomeProjection() {
         if (initialMonthlyIncome != null && annualGrowthRate != null && years != null) {
+            this.recalculationPending = false;
             // Calculate projected monthly income after n years with annual growth
             double projectedIncome = initialMonthlyIncome * Math.pow(1 + (annualGrowthRate / 100), years);
             this.projectedMonthlyIncome = Math.round(projectedIncome * 100.0) / 100.0;
@@ -164,36 +182,16 @@ public class IncomeSource {
     }
 
     // Calculate year-by-year income progression
-    public List<Map<String, Object>> getYearlyIncomeProgression() {
-        List<Map<String, Object>> progression = new ArrayList<>();
-
-        double currentMonthlyIncome = initialMonthlyIncome;
-
-        for (int year = 1; year <= years; year++) {
-            double annualIncome = currentMonthlyIncome * 12;
-            double cumulativeIncome = 0.0;
-
-            // Calculate cumulative income up to this year
-            double tempMonthlyIncome = initialMonthlyIncome;
-            for (int y = 1; y <= year; y++) {
-                cumulativeIncome += tempMonthlyIncome * 12;
-                tempMonthlyIncome *= (1 + (annualGrowthRate / 100));
-            }
-
-            Map<String, Object> yearlyData = new HashMap<>();
-            yearlyData.put("year", year);
-            yearlyData.put("monthlyIncome", Math.round(currentMonthlyIncome * 100.0) / 100.0);
-            yearlyData.put("annualIncome", Math.round(annualIncome * 100.0) / 100.0);
-            yearlyData.put("cumulativeIncome", Math.round(cumulativeIncome * 100.0) / 100.0);
-            yearlyData.put("growthFromStart", Math.round(((currentMonthlyIncome - initialMonthlyIncome) / initialMonthlyIncome) * 100 * 100.0) / 100.0);
-
-            progression.add(yearlyData);
+    public List<IncomeProgressionRow> getYearlyIncomeProgression() {
+        return yearlyIncomeProgression(initialMonthlyIncome, annualGrowthRate, years);
+    }
 
-            // Grow income for next year
-            currentMonthlyIncome *= (1 + (annualGrowthRate / 100));
+    public static List<IncomeProgressionRow> yearlyIncomeProgression(Double initialMonthlyIncome,
+                                                                     Double annualGrowthRate, Integer years) {
+        if (initialMonthlyIncome == null || annualGrowthRate == null || years == null) {
+            return Collections.emptyList();
         }
-
-        return progression;
+        return IncomeProgression.of(initialMonthlyIncome, annualGrowthRate, years);
     }
 
     // Calculate income for a specific year
@@ -215,8 +213,12 @@ public class IncomeSource {
         return result;
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        if (recalculationPending) {
+            calculateIncomeProjection();
+        }
         this.updatedAt = LocalDateTime.now();
     }
 
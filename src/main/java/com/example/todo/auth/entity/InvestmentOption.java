@@ -1,34 +1,52 @@
 package com.example.todo.auth.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "investment_options")
+@Table(name = "investment_options", indexes = {
+        @Index(name = "idx_investment_options_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_investment_options_user_category", columnList = "user_id, category"),
+        @Index(name = "idx_investment_options_user_cagr", columnList = "user_id, average_cagr")
+})
 public class InvestmentOption {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "investment_option_ids")
+    @TableGenerator(name = "investment_option_ids", table = "hibernate_sequences", pkColumnValue = "investment_options", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
     @Enumerated(EnumType.STRING)
+    @NotNull
     @Column(name = "category", nullable = false, length = 20)
     private InvestmentCategory category;
 
+    @NotNull
     @Column(name = "min_cagr", nullable = false)
     private Double minCAGR;
 
+    @NotNull
     @Column(name = "max_cagr", nullable = false)
     private Double maxCAGR;
 
+    // Stored copy of getAverageCAGR() so recommendations can filter on it in the database
+    @Column(name = "average_cagr", nullable = false)
+    private Double averageCAGR;
+
     @Enumerated(EnumType.STRING)
+    @NotNull
     @Column(name = "risk_level", nullable = false, length = 20)
     private RiskLevel riskLevel;
 
     @Enumerated(EnumType.STRING)
+    @NotNull
     @Column(name = "liquidity", nullable = false, length = 20)
     private Liquidity liquidity;
 
@@ -38,6 +56,7 @@ public class InvestmentOption {
     @Column(name = "notes", length = 1000)
     private String notes;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -177,10 +196,18 @@ public class InvestmentOption {
 
     // Helper methods
     public Double getAverageCAGR() {
+        return averageCAGR(minCAGR, maxCAGR);
+    }
+
+    public static Double averageCAGR(Double minCAGR, Double maxCAGR) {
         return (minCAGR + maxCAGR) / 2;
     }
 
     public String getRiskColor() {
+        return riskColor(riskLevel);
+    }
+
+    public static String riskColor(RiskLevel riskLevel) {
         switch (riskLevel) {
             case LOW: return "success";
             case MEDIUM: return "warning";
@@ -190,7 +217,22 @@ public class InvestmentOption {
         }
     }
 
+    // Annual volatility in percent assumed for return simulations at each risk level
+    public static double annualVolatility(RiskLevel riskLevel) {
+        switch (riskLevel) {
+            case LOW: return 2.0;
+            case MEDIUM: return 8.0;
+            case HIGH: return 16.0;
+            case VERY_HIGH: return 24.0;
+            default: return 8.0;
+        }
+    }
+
     public String getLiquidityIcon() {
+        return liquidityIcon(liquidity);
+    }
+
+    public static String liquidityIcon(Liquidity liquidity) {
         switch (liquidity) {
             case HIGH: return "fa-tachometer-alt-fast";
             case MEDIUM: return "fa-tachometer-alt-average";
@@ -200,6 +242,10 @@ public class InvestmentOption {
     }
 
     public String getCategoryIcon() {
+        return categoryIcon(category);
+    }
+
+    public static String categoryIcon(InvestmentCategory category) {
         switch (category) {
             case EQUITY: return "fa-chart-line";
             case FIXED_INCOME: return "fa-hand-holding-usd";
@@ -210,8 +256,10 @@ public class InvestmentOption {
         }
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        this.averageCAGR = averageCAGR(minCAGR, maxCAGR);
         this.updatedAt = LocalDateTime.now();
     }
 
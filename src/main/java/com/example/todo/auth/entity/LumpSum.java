@@ -1,26 +1,36 @@
 package com.example.todo.auth.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "lump_sums")
+@Table(name = "lump_sums", indexes = {
+        @Index(name = "idx_lump_sums_user_created", columnList = "user_id, created_at")
+})
 public class LumpSum {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "lump_sum_ids")
+    @TableGenerator(name = "lump_sum_ids", table = "hibernate_sequences", pkColumnValue = "lump_sums", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "investment_name", nullable = false)
     private String investmentName;
 
+    @NotNull
     @Column(name = "principal_amount", nullable = false)
     private Double principalAmount;
 
+    @NotNull
     @Column(name = "duration", nullable = false)
     private Integer duration; // in years
 
+    @NotNull
     @Column(name = "expected_return", nullable = false)
     private Double expectedReturn; // annual expected return percentage
 
@@ -30,6 +40,7 @@ public class LumpSum {
     @Column(name = "total_interest")
     private Double totalInterest;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -40,6 +51,10 @@ public class LumpSum {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when an input changes; derived fields are recomputed once, on persist or update
+    @Transient
+    private boolean recalculationPending;
+
     // Constructors
     public LumpSum() {
         this.createdAt = LocalDateTime.now();
@@ -78,7 +93,7 @@ public class LumpSum {
 
     public void setPrincipalAmount(Double principalAmount) {
         this.principalAmount = principalAmount;
-        calculateLumpSum();
+        this.recalculationPending = true;
     }
 
     public Integer getDuration() {
@@ -87,7 +102,7 @@ public class LumpSum {
 
     public void setDuration(Integer duration) {
         this.duration = duration;
-        calculateLumpSum();
+        this.recalculationPending = true;
     }
 
     public Double getExpectedReturn() {
@@ -96,7 +111,7 @@ public class LumpSum {
 
     public void setExpectedReturn(Double expectedReturn) {
         this.expectedReturn = expectedReturn;
-        calculateLumpSum();
+        this.recalculationPending = true;
     }
 
     public Double getFutureValue() {
@@ -142,6 +157,7 @@ public class LumpSum {
     // LumpSum Calculation Methods
     public void calculateLumpSum() {
         if (principalAmount != null && duration != null && expectedReturn != null) {
+            this.recalculationPending = false;
             // Calculate future value using compound interest formula: FV = P * (1 + r)^n
             // where P = principal amount, r = annual rate, n = number of years
             double futureVal = principalAmount * Math.pow(1 + (expectedReturn / 100), duration);
@@ -176,6 +192,11 @@ public class LumpSum {
 
     // Calculate year-by-year growth projection
     public List<Map<String, Object>> getYearlyProjection() {
+        return yearlyProjection(principalAmount, expectedReturn, duration);
+    }
+
+    public static List<Map<String, Object>> yearlyProjection(Double principalAmount, Double expectedReturn,
+                                                             Integer duration) {
         List<Map<String, Object>> projection = new ArrayList<>();
 
         for (int year = 0; year <= duration; year++) {
@@ -195,8 +216,12 @@ public class LumpSum {
         return projection;
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        if (recalculationPending) {
+            calculateLumpSum();
+        }
         this.updatedAt = LocalDateTime.now();
     }
 
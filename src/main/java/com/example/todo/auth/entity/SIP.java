@@ -1,6 +1,9 @@
 package com.example.todo.auth.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -8,21 +11,28 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Entity
-@Table(name = "sips")
+@Table(name = "sips", indexes = {
+        @Index(name = "idx_sips_user_created", columnList = "user_id, created_at")
+})
 public class SIP {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sip_ids")
+    @TableGenerator(name = "sip_ids", table = "hibernate_sequences", pkColumnValue = "sips", allocationSize = 50)
     private Long id;
 
+    @NotBlank
     @Column(name = "investment_on_name", nullable = false)
     private String investmentOnName;
 
+    @NotNull
     @Column(name = "monthly_investment", nullable = false)
     private Double monthlyInvestment;
 
+    @NotNull
     @Column(name = "duration", nullable = false)
     private Integer duration; // in months
 
+    @NotNull
     @Column(name = "expected_return", nullable = false)
     private Double expectedReturn; // annual expected return percentage
 
@@ -35,6 +45,7 @@ public class SIP {
     @Column(name = "total_interest_paid")
     private Double totalInterestPaid;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -45,6 +56,10 @@ public class SIP {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when an input changes; derived fields are recomputed once, on persist or update
+    @Transient
+    private boolean recalculationPending;
+
     // Constructors
     public SIP() {
         this.createdAt = LocalDateTime.now();
@@ -83,7 +98,7 @@ public class SIP {
 
     public void setMonthlyInvestment(Double monthlyInvestment) {
         this.monthlyInvestment = monthlyInvestment;
-        calculateSIP();
+        this.recalculationPending = true;
     }
 
     public Integer getDuration() {
@@ -92,7 +107,7 @@ public class SIP {
 
     public void setDuration(Integer duration) {
         this.duration = duration;
-        calculateSIP();
+        this.recalculationPending = true;
     }
 
     public Double getExpectedReturn() {
@@ -101,7 +116,7 @@ public class SIP {
 
     public void setExpectedReturn(Double expectedReturn) {
         this.expectedReturn = expectedReturn;
-        calculateSIP();
+        this.recalculationPending = true;
     }
 
     public Double getFutureValue() {
@@ -155,6 +170,7 @@ public class SIP {
     // SIP Calculation Methods
     public void calculateSIP() {
         if (monthlyInvestment != null && duration != null && expectedReturn != null) {
+            this.recalculationPending = false;
             // Calculate future value using SIP formula: FV = P * [((1 + r)^n - 1) / r] * (1 + r)
             // where P = monthly investment, r = monthly rate, n = number of months
             double monthlyRate = expectedReturn / 12 / 100;
@@ -196,8 +212,12 @@ public class SIP {
         return Collections.emptyMap();
     }
 
+    @PrePersist
     @PreUpdate
     public void preUpdate() {
+        if (recalculationPending) {
+            calculateSIP();
+        }
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -2,15 +2,20 @@ package com.example.todo.auth.entity;
 
 // Todo.java
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_todos_user_completed", columnList = "user_id, completed")
+})
 public class Todo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "todo_ids")
+    @TableGenerator(name = "todo_ids", table = "hibernate_sequences", pkColumnValue = "todos", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -24,6 +29,7 @@ public class Todo {
 
     private LocalDateTime updatedAt;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -1,22 +1,55 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.EMISummary;
+import com.example.todo.auth.dto.EMIView;
 import com.example.todo.auth.entity.EMI;
 import com.example.todo.auth.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EMIRepository extends JpaRepository<EMI, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.EMIView(" +
+            "e.id, e.emiForName, e.principal, e.annualInterestRate, e.totalTenure, " +
+            "e.tenuresPaid, e.emiAmount, e.principalPaidSoFar, e.interestPaidSoFar, e.remainingPrincipal, " +
+            "e.interestToBePaid, e.remainingTenure, e.createdAt, e.updatedAt) " +
+            "FROM EMI e ";
+
     List<EMI> findByUser(User user);
     List<EMI> findByUserOrderByCreatedAtDesc(User user);
     Optional<EMI> findByIdAndUser(Long id, User user);
+    List<EMI> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
     @Query("SELECT SUM(e.emiAmount) FROM EMI e WHERE e.user = :user AND e.remainingTenure > 0")
     Optional<Double> findTotalMonthlyEMIByUser(@Param("user") User user);
+
+    @Query("SELECT new com.example.todo.auth.dto.EMISummary(COUNT(e), " +
+            "COALESCE(SUM(e.principal), 0.0), COALESCE(SUM(e.emiAmount), 0.0), " +
+            "COALESCE(SUM(e.principalPaidSoFar + e.interestPaidSoFar), 0.0), " +
+            "COALESCE(SUM(e.remainingPrincipal), 0.0)) " +
+            "FROM EMI e WHERE e.user = :user")
+    EMISummary summarizeByUser(@Param("user") User user);
+
+    @Query(VIEW + "WHERE e.user = :user ORDER BY e.createdAt DESC, e.id DESC")
+    List<EMIView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE e.user = :user " +
+            "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<EMIView> findPageByUserAfter(@Param("user") User user,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query(VIEW + "WHERE e.id = :id AND e.user = :user")
+    Optional<EMIView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
 }
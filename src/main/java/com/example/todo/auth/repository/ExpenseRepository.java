@@ -1,21 +1,88 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.ExpenseCategoryTotal;
+import com.example.todo.auth.dto.ExpenseDailyCategoryTotal;
+import com.example.todo.auth.dto.ExpenseView;
 import com.example.todo.auth.entity.Expense;
 import com.example.todo.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.ExpenseView(" +
+            "e.id, e.category, e.amount, e.date, e.description, e.inflationRate) " +
+            "FROM Expense e ";
+
     List<Expense> findByUser(User user);
     List<Expense> findByUserOrderByDateDesc(User user);
     List<Expense> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
-    List<Expense> findByUserAndDateBetweenOrderByDateDesc(User user, LocalDate startDate, LocalDate endDate);
     List<Expense> findByUserAndCategory(User user, String category);
     Optional<Expense> findByIdAndUser(Long id, User user);
+    List<Expense> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0.0) FROM Expense e " +
+            "WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate")
+    Double sumAmountByUserAndDateBetween(@Param("user") User user,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    // Inflation rate of the period's expenses weighted by amount, null if none carry one
+    @Query("SELECT SUM(e.amount * e.inflationRate) / SUM(e.amount) FROM Expense e " +
+            "WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate AND e.inflationRate IS NOT NULL")
+    Double weightedInflationRateByUserAndDateBetween(@Param("user") User user,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.todo.auth.dto.ExpenseCategoryTotal(e.category, SUM(e.amount)) FROM Expense e " +
+            "WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate GROUP BY e.category")
+    List<ExpenseCategoryTotal> sumByCategoryForUserAndDateBetween(@Param("user") User user,
+                                                                  @Param("startDate") LocalDate startDate,
+                                                                  @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.todo.auth.dto.ExpenseDailyCategoryTotal(e.date, e.category, SUM(e.amount), COUNT(e)) " +
+            "FROM Expense e WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY e.date, e.category ORDER BY e.date")
+    List<ExpenseDailyCategoryTotal> sumByDayAndCategoryForUserAndDateBetween(@Param("user") User user,
+                                                                            @Param("startDate") LocalDate startDate,
+                                                                            @Param("endDate") LocalDate endDate);
+
+    @Query(VIEW + "WHERE e.user = :user ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE e.user = :user AND (e.date < :date OR (e.date = :date AND e.id < :id)) " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseView> findPageByUserAfter(@Param("user") User user,
+                                          @Param("date") LocalDate date,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    @Query(VIEW + "WHERE e.id = :id AND e.user = :user")
+    Optional<ExpenseView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    @Query(VIEW + "WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate ORDER BY e.date DESC")
+    List<ExpenseView> findViewsByUserAndDateBetween(@Param("user") User user,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    // Rows are read from an open cursor in batches and never enter the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW + "WHERE e.user = :user ORDER BY e.date DESC, e.id DESC")
+    Stream<ExpenseView> streamByUser(@Param("user") User user);
 }
@@ -1,25 +1,34 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.GoalCategoryTotals;
+import com.example.todo.auth.dto.GoalView;
 import com.example.todo.auth.entity.Goal;
 import com.example.todo.auth.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.GoalView(" +
+            "g.id, g.name, g.category, g.duration, g.targetAmount, g.notes, " +
+            "g.inflationAdjustedAmount, g.inflationRate, g.createdAt, g.updatedAt) " +
+            "FROM Goal g ";
+
     List<Goal> findByUser(User user);
     List<Goal> findByUserOrderByCreatedAtDesc(User user);
     List<Goal> findByUserOrderByCategoryAscCreatedAtDesc(User user);
     Optional<Goal> findByIdAndUser(Long id, User user);
+    List<Goal> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
-    List<Goal> findByUserAndCategory(User user, Goal.GoalCategory category);
-
     @Query("SELECT g FROM Goal g WHERE g.user = :user AND g.duration <= :maxDuration")
     List<Goal> findByUserAndDurationLessThanEqual(@Param("user") User user, @Param("maxDuration") Integer maxDuration);
 
@@ -29,12 +38,26 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     @Query("SELECT COUNT(g) FROM Goal g WHERE g.user = :user AND g.category = :category")
     Long countByUserAndCategory(@Param("user") User user, @Param("category") Goal.GoalCategory category);
 
-    @Query("SELECT SUM(g.targetAmount) FROM Goal g WHERE g.user = :user")
-    Optional<Double> findTotalTargetAmountByUser(@Param("user") User user);
+    @Query("SELECT new com.example.todo.auth.dto.GoalCategoryTotals(g.category, COUNT(g), " +
+            "COALESCE(SUM(g.targetAmount), 0.0), COALESCE(SUM(g.duration), 0)) " +
+            "FROM Goal g WHERE g.user = :user GROUP BY g.category")
+    List<GoalCategoryTotals> summarizeByCategoryForUser(@Param("user") User user);
+
+    @Query(VIEW + "WHERE g.user = :user ORDER BY g.category ASC, g.createdAt DESC, g.id DESC")
+    List<GoalView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE g.user = :user AND (g.category > :category OR (g.category = :category " +
+            "AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id)))) " +
+            "ORDER BY g.category ASC, g.createdAt DESC, g.id DESC")
+    List<GoalView> findPageByUserAfter(@Param("user") User user,
+                                       @Param("category") Goal.GoalCategory category,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
 
-    @Query("SELECT g.category, COUNT(g) FROM Goal g WHERE g.user = :user GROUP BY g.category")
-    List<Object[]> countByCategoryForUser(@Param("user") User user);
+    @Query(VIEW + "WHERE g.id = :id AND g.user = :user")
+    Optional<GoalView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
 
-    @Query("SELECT g.category, SUM(g.targetAmount) FROM Goal g WHERE g.user = :user GROUP BY g.category")
-    List<Object[]> sumTargetAmountByCategoryForUser(@Param("user") User user);
+    @Query(VIEW + "WHERE g.user = :user AND g.category = :category")
+    List<GoalView> findViewsByUserAndCategory(@Param("user") User user, @Param("category") Goal.GoalCategory category);
 }
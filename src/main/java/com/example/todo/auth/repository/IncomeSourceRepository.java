@@ -1,31 +1,50 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.IncomeSourceSummary;
+import com.example.todo.auth.dto.IncomeSourceView;
 import com.example.todo.auth.entity.IncomeSource;
 import com.example.todo.auth.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IncomeSourceRepository extends JpaRepository<IncomeSource, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.IncomeSourceView(" +
+            "i.id, i.sourceName, i.initialMonthlyIncome, i.annualGrowthRate, i.years, " +
+            "i.projectedMonthlyIncome, i.totalAmountReceived, i.createdAt, i.updatedAt) " +
+            "FROM IncomeSource i ";
+
     List<IncomeSource> findByUser(User user);
     List<IncomeSource> findByUserOrderByCreatedAtDesc(User user);
     Optional<IncomeSource> findByIdAndUser(Long id, User user);
+    List<IncomeSource> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
-    @Query("SELECT SUM(is.initialMonthlyIncome) FROM IncomeSource is WHERE is.user = :user")
-    Optional<Double> findTotalInitialMonthlyIncomeByUser(@Param("user") User user);
+    @Query("SELECT new com.example.todo.auth.dto.IncomeSourceSummary(COUNT(is), " +
+            "COALESCE(SUM(is.initialMonthlyIncome), 0.0), COALESCE(SUM(is.projectedMonthlyIncome), 0.0), " +
+            "COALESCE(SUM(is.totalAmountReceived), 0.0), COALESCE(AVG(is.annualGrowthRate), 0.0)) " +
+            "FROM IncomeSource is WHERE is.user = :user")
+    IncomeSourceSummary summarizeByUser(@Param("user") User user);
 
-    @Query("SELECT SUM(is.projectedMonthlyIncome) FROM IncomeSource is WHERE is.user = :user")
-    Optional<Double> findTotalProjectedMonthlyIncomeByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE i.user = :user ORDER BY i.createdAt DESC, i.id DESC")
+    List<IncomeSourceView> findPageByUser(@Param("user") User user, Limit limit);
 
-    @Query("SELECT SUM(is.totalAmountReceived) FROM IncomeSource is WHERE is.user = :user")
-    Optional<Double> findTotalAmountReceivedByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE i.user = :user " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IncomeSourceView> findPageByUserAfter(@Param("user") User user,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
 
-    @Query("SELECT AVG(is.annualGrowthRate) FROM IncomeSource is WHERE is.user = :user")
-    Optional<Double> findAverageGrowthRateByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE i.id = :id AND i.user = :user")
+    Optional<IncomeSourceView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
 }
@@ -1,31 +1,37 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.InvestmentOptionCandidate;
+import com.example.todo.auth.dto.InvestmentOptionView;
 import com.example.todo.auth.entity.InvestmentOption;
 import com.example.todo.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvestmentOptionRepository extends JpaRepository<InvestmentOption, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.InvestmentOptionView(" +
+            "io.id, io.name, io.category, io.minCAGR, io.maxCAGR, io.riskLevel, " +
+            "io.liquidity, io.taxEfficiency, io.notes, io.createdAt, io.updatedAt) " +
+            "FROM InvestmentOption io ";
+
     List<InvestmentOption> findByUser(User user);
     List<InvestmentOption> findByUserOrderByCreatedAtDesc(User user);
     Optional<InvestmentOption> findByIdAndUser(Long id, User user);
+    List<InvestmentOption> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
-    List<InvestmentOption> findByUserAndCategory(User user, InvestmentOption.InvestmentCategory category);
-    List<InvestmentOption> findByUserAndRiskLevel(User user, InvestmentOption.RiskLevel riskLevel);
-    List<InvestmentOption> findByUserAndLiquidity(User user, InvestmentOption.Liquidity liquidity);
-
-    @Query("SELECT io FROM InvestmentOption io WHERE io.user = :user AND io.minCAGR >= :minCAGR AND io.maxCAGR <= :maxCAGR")
-    List<InvestmentOption> findByUserAndCAGRRange(@Param("user") User user,
-                                                  @Param("minCAGR") Double minCAGR,
-                                                  @Param("maxCAGR") Double maxCAGR);
-
     @Query("SELECT COUNT(io) FROM InvestmentOption io WHERE io.user = :user AND io.category = :category")
     Long countByUserAndCategory(@Param("user") User user,
                                 @Param("category") InvestmentOption.InvestmentCategory category);
@@ -35,4 +41,49 @@ public interface InvestmentOptionRepository extends JpaRepository<InvestmentOpti
 
     @Query("SELECT io.category, COUNT(io) FROM InvestmentOption io WHERE io.user = :user GROUP BY io.category")
     List<Object[]> countByCategoryForUser(@Param("user") User user);
+
+    @Query(VIEW + "WHERE io.user = :user ORDER BY io.createdAt DESC, io.id DESC")
+    List<InvestmentOptionView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE io.user = :user " +
+            "AND (io.createdAt < :createdAt OR (io.createdAt = :createdAt AND io.id < :id)) " +
+            "ORDER BY io.createdAt DESC, io.id DESC")
+    List<InvestmentOptionView> findPageByUserAfter(@Param("user") User user,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    @Query(VIEW + "WHERE io.id = :id AND io.user = :user")
+    Optional<InvestmentOptionView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    @Query(VIEW + "WHERE io.user = :user AND io.category = :category")
+    List<InvestmentOptionView> findViewsByUserAndCategory(@Param("user") User user,
+                                                          @Param("category") InvestmentOption.InvestmentCategory category);
+
+    @Query(VIEW + "WHERE io.user = :user AND io.riskLevel = :riskLevel")
+    List<InvestmentOptionView> findViewsByUserAndRiskLevel(@Param("user") User user,
+                                                           @Param("riskLevel") InvestmentOption.RiskLevel riskLevel);
+
+    @Query(VIEW + "WHERE io.user = :user AND io.liquidity = :liquidity")
+    List<InvestmentOptionView> findViewsByUserAndLiquidity(@Param("user") User user,
+                                                           @Param("liquidity") InvestmentOption.Liquidity liquidity);
+
+    @Query(VIEW + "WHERE io.user = :user AND io.minCAGR >= :minCAGR AND io.maxCAGR <= :maxCAGR")
+    List<InvestmentOptionView> findViewsByUserAndCAGRRange(@Param("user") User user,
+                                                           @Param("minCAGR") Double minCAGR,
+                                                           @Param("maxCAGR") Double maxCAGR);
+
+    // Options passing the recommendation filters, read from a cursor for ranking in memory
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.todo.auth.dto.InvestmentOptionCandidate(" +
+            "io.id, io.name, io.category, io.averageCAGR, io.riskLevel, io.liquidity) " +
+            "FROM InvestmentOption io WHERE io.user = :user AND io.averageCAGR >= :minCAGR " +
+            "AND io.riskLevel IN :riskLevels AND io.liquidity IN :liquidities")
+    Stream<InvestmentOptionCandidate> streamCandidates(@Param("user") User user,
+                                                       @Param("minCAGR") Double minCAGR,
+                                                       @Param("riskLevels") Collection<InvestmentOption.RiskLevel> riskLevels,
+                                                       @Param("liquidities") Collection<InvestmentOption.Liquidity> liquidities);
 }
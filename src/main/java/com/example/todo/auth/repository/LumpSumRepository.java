@@ -1,31 +1,50 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.LumpSumSummary;
+import com.example.todo.auth.dto.LumpSumView;
 import com.example.todo.auth.entity.LumpSum;
 import com.example.todo.auth.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LumpSumRepository extends JpaRepository<LumpSum, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.LumpSumView(" +
+            "l.id, l.investmentName, l.principalAmount, l.duration, l.expectedReturn, " +
+            "l.futureValue, l.totalInterest, l.createdAt, l.updatedAt) " +
+            "FROM LumpSum l ";
+
     List<LumpSum> findByUser(User user);
     List<LumpSum> findByUserOrderByCreatedAtDesc(User user);
     Optional<LumpSum> findByIdAndUser(Long id, User user);
+    List<LumpSum> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
-    @Query("SELECT SUM(ls.principalAmount) FROM LumpSum ls WHERE ls.user = :user")
-    Optional<Double> findTotalPrincipalByUser(@Param("user") User user);
+    @Query("SELECT new com.example.todo.auth.dto.LumpSumSummary(COUNT(ls), " +
+            "COALESCE(SUM(ls.principalAmount), 0.0), COALESCE(SUM(ls.futureValue), 0.0), " +
+            "COALESCE(SUM(ls.totalInterest), 0.0), COALESCE(AVG(ls.expectedReturn), 0.0)) " +
+            "FROM LumpSum ls WHERE ls.user = :user")
+    LumpSumSummary summarizeByUser(@Param("user") User user);
 
-    @Query("SELECT SUM(ls.futureValue) FROM LumpSum ls WHERE ls.user = :user")
-    Optional<Double> findTotalFutureValueByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE l.user = :user ORDER BY l.createdAt DESC, l.id DESC")
+    List<LumpSumView> findPageByUser(@Param("user") User user, Limit limit);
 
-    @Query("SELECT SUM(ls.totalInterest) FROM LumpSum ls WHERE ls.user = :user")
-    Optional<Double> findTotalInterestByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE l.user = :user " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LumpSumView> findPageByUserAfter(@Param("user") User user,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
 
-    @Query("SELECT AVG(ls.expectedReturn) FROM LumpSum ls WHERE ls.user = :user")
-    Optional<Double> findAverageReturnByUser(@Param("user") User user);
+    @Query(VIEW + "WHERE l.id = :id AND l.user = :user")
+    Optional<LumpSumView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
 }
@@ -1,20 +1,31 @@
 package com.example.todo.auth.repository;
 
+import com.example.todo.auth.dto.SIPSummary;
+import com.example.todo.auth.dto.SIPView;
 import com.example.todo.auth.entity.SIP;
 import com.example.todo.auth.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SIPRepository extends JpaRepository<SIP, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.SIPView(" +
+            "s.id, s.investmentOnName, s.monthlyInvestment, s.duration, s.expectedReturn, " +
+            "s.futureValue, s.totalInvestment, s.totalInterestPaid, s.createdAt, s.updatedAt) " +
+            "FROM SIP s ";
+
     List<SIP> findByUser(User user);
     List<SIP> findByUserOrderByCreatedAtDesc(User user);
     Optional<SIP> findByIdAndUser(Long id, User user);
+    List<SIP> findByUserAndIdIn(User user, Collection<Long> ids);
     void deleteByIdAndUser(Long id, User user);
 
     @Query("SELECT SUM(s.monthlyInvestment) FROM SIP s WHERE s.user = :user")
@@ -25,4 +36,25 @@ public interface SIPRepository extends JpaRepository<SIP, Long> {
 
     @Query("SELECT SUM(s.totalInvestment) FROM SIP s WHERE s.user = :user")
     Optional<Double> findTotalInvestmentByUser(@Param("user") User user);
+
+    @Query("SELECT new com.example.todo.auth.dto.SIPSummary(COUNT(s), " +
+            "COALESCE(SUM(s.monthlyInvestment), 0.0), COALESCE(SUM(s.futureValue), 0.0), " +
+            "COALESCE(SUM(s.totalInvestment), 0.0), COALESCE(SUM(s.totalInterestPaid), 0.0), " +
+            "COALESCE(AVG(s.expectedReturn), 0.0)) " +
+            "FROM SIP s WHERE s.user = :user")
+    SIPSummary summarizeByUser(@Param("user") User user);
+
+    @Query(VIEW + "WHERE s.user = :user ORDER BY s.createdAt DESC, s.id DESC")
+    List<SIPView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE s.user = :user " +
+            "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<SIPView> findPageByUserAfter(@Param("user") User user,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query(VIEW + "WHERE s.id = :id AND s.user = :user")
+    Optional<SIPView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
 }
@@ -1,12 +1,81 @@
 package com.example.todo.auth.repository;
 
 // TodoRepository.java
+import com.example.todo.auth.dto.TodoView;
 import com.example.todo.auth.entity.Todo;
 import com.example.todo.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository extends JpaRepository<Todo, Long> {
+    String VIEW = "SELECT new com.example.todo.auth.dto.TodoView(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt) " +
+            "FROM Todo t ";
+
     List<Todo> findByUser(User user);
-    List<Todo> findByUserAndCompleted(User user, boolean completed);
+    List<Todo> findByUserAndIdIn(User user, Collection<Long> ids);
+
+    @Query(VIEW + "WHERE t.user = :user ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoView> findPageByUser(@Param("user") User user, Limit limit);
+
+    @Query(VIEW + "WHERE t.user = :user " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoView> findPageByUserAfter(@Param("user") User user,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    @Query(VIEW + "WHERE t.id = :id AND t.user = :user")
+    Optional<TodoView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    @Query(VIEW + "WHERE t.user = :user AND t.completed = :completed")
+    List<TodoView> findViewsByUserAndCompleted(@Param("user") User user, @Param("completed") boolean completed);
+
+    // Backs the NDJSON export; see ExpenseRepository.streamByUser
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW + "WHERE t.user = :user ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TodoView> streamByUser(@Param("user") User user);
+
+    // The writes below check ownership in the WHERE clause and return the affected
+    // row count, so a missing or foreign todo is simply 0 rows
+    @Modifying
+    @Query("UPDATE Todo t SET t.title = :title, t.description = :description, t.updatedAt = :now " +
+            "WHERE t.id = :id AND t.user = :user")
+    int updateDetailsByIdAndUser(@Param("id") Long id,
+                                 @Param("user") User user,
+                                 @Param("title") String title,
+                                 @Param("description") String description,
+                                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Todo t SET t.completed = CASE WHEN t.completed = true THEN false ELSE true END, " +
+            "t.updatedAt = :now WHERE t.id = :id AND t.user = :user")
+    int toggleCompletedByIdAndUser(@Param("id") Long id, @Param("user") User user, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id = :id AND t.user = :user")
+    int deleteByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    @Modifying
+    @Query("UPDATE Todo t SET t.completed = true, t.updatedAt = :now WHERE t.user = :user AND t.completed = false")
+    int completeAllByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.user = :user AND t.completed = true")
+    int deleteCompletedByUser(@Param("user") User user);
 }
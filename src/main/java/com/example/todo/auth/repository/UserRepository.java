@@ -3,11 +3,18 @@ package com.example.todo.auth.repository;
 // UserRepository.java
 import com.example.todo.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :login OR u.email = :login")
+    List<User> findByUsernameOrEmail(@Param("login") String login);
+
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
 }
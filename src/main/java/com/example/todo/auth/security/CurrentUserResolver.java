@@ -0,0 +1,56 @@
+package com.example.todo.auth.security;
+
+// CurrentUserResolver.java
+
+import com.example.todo.auth.entity.User;
+import com.example.todo.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the {@link User} owning the current request. When the principal carries the
+ * user id the result is an uninitialized reference, so filtering by {@code user_id}
+ * never loads the {@code users} row. The result is memoized for the rest of the request.
+ */
+@Component
+public class CurrentUserResolver {
+
+    private static final String ATTRIBUTE_PREFIX = CurrentUserResolver.class.getName() + ".";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public User resolve(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String attributeName = ATTRIBUTE_PREFIX + username;
+        if (attributes != null) {
+            Object resolved = attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+            if (resolved instanceof User user) {
+                return user;
+            }
+        }
+
+        User user = lookup(username);
+        if (attributes != null) {
+            attributes.setAttribute(attributeName, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private User lookup(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.getId() != null
+                && principal.getUsername().equals(username)) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
+}
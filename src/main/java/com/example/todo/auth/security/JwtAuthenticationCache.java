@@ -0,0 +1,101 @@
+package com.example.todo.auth.security;
+
+// JwtAuthenticationCache.java
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the token. An entry lives for {@code jwt.cache.ttl} milliseconds
+ * or until the token itself expires, whichever comes first.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, CachedToken> cache;
+
+    public JwtAuthenticationCache(@Value("${jwt.cache.max-size:10000}") long maxSize,
+                                  @Value("${jwt.cache.ttl:300000}") long ttlMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(TimeUnit.MILLISECONDS.toNanos(ttlMillis)))
+                .build();
+    }
+
+    public UserDetails get(String token) {
+        CachedToken cached = cache.getIfPresent(digest(token));
+        if (cached == null || cached.expiration.before(new Date())) {
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    public void put(String token, UserDetails userDetails, Date expiration) {
+        cache.put(digest(token), new CachedToken(userDetails, expiration));
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedToken {
+        private final UserDetails userDetails;
+        private final Date expiration;
+
+        private CachedToken(UserDetails userDetails, Date expiration) {
+            this.userDetails = userDetails;
+            this.expiration = expiration;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, CachedToken> {
+        private final long ttlNanos;
+
+        private TokenExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            long untilTokenExpiry = TimeUnit.MILLISECONDS.toNanos(
+                    value.expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilTokenExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todo.auth.security;
+
+// ParsedToken.java
+
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.List;
+
+public final class ParsedToken {
+    private final String subject;
+    private final Date expiration;
+    private final Claims claims;
+
+    public ParsedToken(String subject, Date expiration, Claims claims) {
+        this.subject = subject;
+        this.expiration = expiration;
+        this.claims = claims;
+    }
+
+    public String getSubject() { return subject; }
+    public Date getExpiration() { return expiration; }
+    public Claims getClaims() { return claims; }
+
+    public String getId() {
+        return claims.getId();
+    }
+
+    public Long getUserId() {
+        Object userId = claims.get(JwtUtil.CLAIM_USER_ID);
+        return userId instanceof Number ? ((Number) userId).longValue() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getRoles() {
+        Object roles = claims.get(JwtUtil.CLAIM_ROLES);
+        return roles instanceof List ? (List<String>) roles : null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todo.auth.security;
+
+// TokenRevocationList.java
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory list of revoked token ids. An entry only has to outlive the token it
+ * revokes, so each one is dropped as soon as that token would have expired anyway.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache<String, Date> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Date>() {
+                @Override
+                public long expireAfterCreate(String tokenId, Date expiration, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(
+                            Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String tokenId, Date expiration, long currentTime, long currentDuration) {
+                    return expireAfterCreate(tokenId, expiration, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String tokenId, Date expiration, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    public void revoke(ParsedToken token) {
+        if (token.getId() != null && !token.isExpired()) {
+            revoked.put(token.getId(), token.getExpiration());
+        }
+    }
+
+    public boolean isRevoked(ParsedToken token) {
+        return token.getId() != null && revoked.getIfPresent(token.getId()) != null;
+    }
+}
@@ -5,9 +5,11 @@ import com.example.todo.auth.dto.UserRegistration;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class AuthService {
@@ -16,7 +18,7 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     public User registerUser(UserRegistration registration) {
         if (userRepository.existsByUsername(registration.getUsername())) {
@@ -30,9 +32,34 @@ public class AuthService {
         User user = new User();
         user.setUsername(registration.getUsername());
         user.setEmail(registration.getEmail());
-        user.setPassword(passwordEncoder.encode(registration.getPassword()));
+        user.setPassword(passwordHashingService.encode(registration.getPassword()));
         user.setRoles(Arrays.asList("ROLE_USER"));
 
         return userRepository.save(user);
     }
-}
\ No newline at end of file
+
+    public User authenticate(String login, String rawPassword) {
+        // Login accepts either username or email; a username match wins over an email match
+        List<User> candidates = userRepository.findByUsernameOrEmail(login);
+        User user = candidates.stream()
+                .filter(candidate -> login.equals(candidate.getUsername()))
+                .findFirst()
+                .orElseGet(() -> candidates.stream().findFirst()
+                        .orElseThrow(() -> new RuntimeException("User not found")));
+
+        if (!passwordHashingService.matches(rawPassword, user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        // Hashes created with a lower cost factor are upgraded transparently
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(rawPassword));
+                userRepository.save(user);
+            } catch (RejectedExecutionException e) {
+                // Under load the upgrade simply waits for a later login
+            }
+        }
+        return user;
+    }
+}
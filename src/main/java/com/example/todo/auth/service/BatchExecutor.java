@@ -0,0 +1,109 @@
+package com.example.todo.auth.service;
+
+import com.example.todo.auth.dto.BatchItemError;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Applies a {@link BatchRequest} inside the caller's transaction. Every item is checked
+ * first; if any is invalid or not owned by the user, nothing is written and the result
+ * lists the errors. Otherwise the writes are left to the flush, which sends them as JDBC
+ * batches.
+ */
+@Component
+public class BatchExecutor {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * @param loadOwned   loads the user's entities with the given ids in one query
+     * @param newEntity   turns a create item into a new entity owned by the user
+     * @param applyUpdate copies an update item onto a managed entity
+     */
+    public <R, T> BatchResult<T> execute(BatchRequest<R> request,
+                                         JpaRepository<T, Long> repository,
+                                         Function<Collection<Long>, List<T>> loadOwned,
+                                         Function<T, Long> idOf,
+                                         Function<R, T> newEntity,
+                                         BiConsumer<T, R> applyUpdate) {
+        if (request.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("A batch can hold at most " + MAX_ITEMS + " items");
+        }
+
+        List<BatchItemError> errors = new ArrayList<>();
+        for (int i = 0; i < request.create().size(); i++) {
+            validate("create", i, request.create().get(i), errors);
+        }
+        request.update().forEach((id, item) -> validate("update", id, item, errors));
+
+        Set<Long> ids = new LinkedHashSet<>(request.update().keySet());
+        ids.addAll(request.delete());
+        Map<Long, T> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (T entity : loadOwned.apply(ids)) {
+                owned.put(idOf.apply(entity), entity);
+            }
+        }
+        for (Long id : request.update().keySet()) {
+            if (!owned.containsKey(id)) {
+                errors.add(new BatchItemError("update", id, "not found"));
+            }
+        }
+        for (Long id : new LinkedHashSet<>(request.delete())) {
+            if (!owned.containsKey(id)) {
+                errors.add(new BatchItemError("delete", id, "not found"));
+            } else if (request.update().containsKey(id)) {
+                errors.add(new BatchItemError("delete", id, "also listed for update"));
+            }
+        }
+        if (!errors.isEmpty()) {
+            return BatchResult.rejected(errors);
+        }
+
+        List<T> created = new ArrayList<>(request.create().size());
+        for (R item : request.create()) {
+            created.add(newEntity.apply(item));
+        }
+        created = repository.saveAll(created);
+
+        List<T> updated = new ArrayList<>(request.update().size());
+        request.update().forEach((id, item) -> {
+            T entity = owned.get(id);
+            applyUpdate.accept(entity, item);
+            updated.add(entity);
+        });
+
+        List<T> deleted = new LinkedHashSet<>(request.delete()).stream().map(owned::get).toList();
+        repository.deleteAll(deleted);
+
+        return new BatchResult<>(created, updated, deleted.size(), List.of());
+    }
+
+    private <R> void validate(String operation, long item, R value, List<BatchItemError> errors) {
+        if (value == null) {
+            errors.add(new BatchItemError(operation, item, "missing"));
+            return;
+        }
+        validator.validate(value).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .forEach(message -> errors.add(new BatchItemError(operation, item, message)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.todo.auth.service;
+
+import com.example.todo.auth.calculation.CashFlowSimulation;
+import com.example.todo.auth.entity.EMI;
+import com.example.todo.auth.entity.Goal;
+import com.example.todo.auth.entity.IncomeSource;
+import com.example.todo.auth.entity.LumpSum;
+import com.example.todo.auth.entity.SIP;
+import com.example.todo.auth.entity.User;
+import com.example.todo.auth.repository.EMIRepository;
+import com.example.todo.auth.repository.ExpenseRepository;
+import com.example.todo.auth.repository.GoalRepository;
+import com.example.todo.auth.repository.IncomeSourceRepository;
+import com.example.todo.auth.repository.LumpSumRepository;
+import com.example.todo.auth.repository.SIPRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projects a user's whole household month by month: incomes, spending, EMIs, SIPs, lump
+ * sums and goals on one timeline. Every instrument is taken to start today, since none
+ * records how far along it already is apart from EMIs' remaining tenure. Spending
+ * defaults to the average of the last three full months, growing with the
+ * amount-weighted inflation rate recorded on those expenses.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CashFlowService {
+
+    public static final int MAX_YEARS = 50;
+    private static final int EXPENSE_MONTHS = 3;
+    private static final double DEFAULT_EXPENSE_INFLATION = 6.0;
+
+    @Autowired
+    private SIPRepository sipRepository;
+
+    @Autowired
+    private EMIRepository emiRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private LumpSumRepository lumpSumRepository;
+
+    @Autowired
+    private IncomeSourceRepository incomeSourceRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    /**
+     * @param years           horizon; defaults to when the last instrument or goal ends
+     * @param monthlyExpenses overrides the spending taken from recent expenses
+     * @param inflation       overrides the yearly growth of that spending, in percent
+     */
+    public Map<String, Object> project(String username, Integer years, Double monthlyExpenses, Double inflation) {
+        if (years != null && (years < 1 || years > MAX_YEARS)) {
+            throw new IllegalArgumentException("Years must be between 1 and " + MAX_YEARS + ", got " + years);
+        }
+        User user = currentUserResolver.resolve(username);
+        List<IncomeSource> incomeSources = incomeSourceRepository.findByUser(user);
+        List<EMI> emis = emiRepository.findByUser(user);
+        List<SIP> sips = sipRepository.findByUser(user);
+        List<LumpSum> lumpSums = lumpSumRepository.findByUser(user);
+        List<Goal> goals = goalRepository.findByUser(user);
+
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(EXPENSE_MONTHS);
+        YearMonth last = current.minusMonths(1);
+        double expenses = monthlyExpenses != null ? monthlyExpenses
+                : expenseRepository.sumAmountByUserAndDateBetween(user, first.atDay(1), last.atEndOfMonth())
+                        / EXPENSE_MONTHS;
+        Double recordedInflation = inflation != null ? inflation
+                : expenseRepository.weightedInflationRateByUserAndDateBetween(user, first.atDay(1), last.atEndOfMonth());
+        double expenseInflation = recordedInflation != null ? recordedInflation : DEFAULT_EXPENSE_INFLATION;
+
+        int months = years != null ? years * 12 : defaultMonths(incomeSources, emis, sips, lumpSums, goals);
+        CashFlowSimulation simulation = new CashFlowSimulation(months);
+        simulation.setExpenses(expenses, expenseInflation);
+        for (IncomeSource source : incomeSources) {
+            simulation.addIncome(source.getInitialMonthlyIncome(), source.getAnnualGrowthRate(), source.getYears());
+        }
+        for (EMI emi : emis) {
+            simulation.addLoan(emi.getRemainingPrincipal(), emi.getAnnualInterestRate(), emi.getEmiAmount(),
+                    emi.getRemainingTenure());
+        }
+        for (SIP sip : sips) {
+            simulation.addSip(sip.getMonthlyInvestment(), sip.getExpectedReturn(), sip.getDuration());
+        }
+        for (LumpSum lumpSum : lumpSums) {
+            simulation.addLumpSum(lumpSum.getPrincipalAmount(), lumpSum.getExpectedReturn());
+        }
+        for (Goal goal : goals) {
+            simulation.addGoal(goal.getInflationAdjustedAmount(), goal.getDuration() * 12);
+        }
+        simulation.run();
+
+        List<Map<String, Object>> goalOutcomes = new ArrayList<>(goals.size());
+        for (int i = 0; i < goals.size(); i++) {
+            Goal goal = goals.get(i);
+            int dueMonth = goal.getDuration() * 12;
+            int fundedMonth = simulation.getGoalFundedMonth(i);
+            boolean beyondHorizon = simulation.isGoalBeyondHorizon(i);
+
+            Map<String, Object> outcome = new LinkedHashMap<>();
+            outcome.put("id", goal.getId());
+            outcome.put("name", goal.getName());
+            outcome.put("amount", goal.getInflationAdjustedAmount());
+            outcome.put("dueMonth", dueMonth);
+            outcome.put("beyondHorizon", beyondHorizon);
+            outcome.put("fundedMonth", fundedMonth > 0 ? fundedMonth : null);
+            // A goal due after the horizon has no outcome yet
+            outcome.put("onTime", beyondHorizon ? null : fundedMonth > 0 && fundedMonth <= dueMonth);
+            outcome.put("shortfall", beyondHorizon ? null : simulation.getGoalShortfall(i));
+            goalOutcomes.add(outcome);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("months", months);
+        result.put("monthlyExpenses", Math.round(expenses * 100.0) / 100.0);
+        result.put("expenseInflation", Math.round(expenseInflation * 100.0) / 100.0);
+        result.put("goals", goalOutcomes);
+        result.put("years", simulation.getYearlyRows());
+        return result;
+    }
+
+    private static int defaultMonths(List<IncomeSource> incomeSources, List<EMI> emis, List<SIP> sips,
+                                     List<LumpSum> lumpSums, List<Goal> goals) {
+        int months = 12;
+        for (IncomeSource source : incomeSources) {
+            months = Math.max(months, source.getYears() * 12);
+        }
+        for (EMI emi : emis) {
+            months = Math.max(months, emi.getRemainingTenure());
+        }
+        for (SIP sip : sips) {
+            months = Math.max(months, sip.getDuration());
+        }
+        for (LumpSum lumpSum : lumpSums) {
+            months = Math.max(months, lumpSum.getDuration() * 12);
+        }
+        for (Goal goal : goals) {
+            months = Math.max(months, goal.getDuration() * 12);
+        }
+        // Whole years, so the last row covers a full year
+        return Math.min((months + 11) / 12, MAX_YEARS) * 12;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.todo.auth.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the home screen from the per-domain summaries, running them concurrently on
+ * the dashboardExecutor. A part that fails or misses the deadline is left out and
+ * reported under {@code errors}, so the rest of the dashboard still renders.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private SIPService sipService;
+
+    @Autowired
+    private EMIService emiService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private LumpSumService lumpSumService;
+
+    @Autowired
+    private IncomeSourceService incomeSourceService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private ExecutorService executor;
+
+    @Value("${dashboard.timeout-ms:2000}")
+    private long timeoutMs;
+
+    public Map<String, Object> getDashboard(String username, YearMonth month) {
+        Map<String, Future<?>> parts = new LinkedHashMap<>();
+        parts.put("sips", submit(() -> sipService.getSIPSummary(username)));
+        parts.put("emis", submit(() -> emiService.getEMISummary(username)));
+        parts.put("goals", submit(() -> goalService.getGoalsSummary(username)));
+        parts.put("lumpSums", submit(() -> lumpSumService.getLumpSumSummary(username)));
+        parts.put("incomeSources", submit(() -> incomeSourceService.getIncomeSourceSummary(username)));
+        parts.put("expenses", submit(() ->
+                expenseService.getMonthlyDashboard(username, month.getYear(), month.getMonthValue())));
+
+        // One deadline for all parts: they run side by side, so each gets the full budget
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<?>> part : parts.entrySet()) {
+            Future<?> future = part.getValue();
+            try {
+                dashboard.put(part.getKey(), future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(part.getKey(), "timed out");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                errors.put(part.getKey(), "interrupted");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                errors.put(part.getKey(), cause instanceof RejectedExecutionException
+                        ? "unavailable" : String.valueOf(cause.getMessage()));
+            }
+        }
+
+        dashboard.put("month", month.toString());
+        dashboard.put("partial", !errors.isEmpty());
+        dashboard.put("errors", errors);
+        return dashboard;
+    }
+
+    // A saturated pool fails just that part instead of the whole request
+    private Future<?> submit(Callable<?> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
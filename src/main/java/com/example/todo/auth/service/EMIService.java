@@ -1,11 +1,22 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.calculation.Amortization;
+import com.example.todo.auth.calculation.AmortizationSchedule;
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.EMISummary;
+import com.example.todo.auth.dto.EMIView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.EMI;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.EMIRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -20,83 +31,136 @@ public class EMIService {
     private EMIRepository emiRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
 
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
     public EMI createEMI(EMI emi, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         emi.setUser(user);
-        emi.calculateEMI(); // Calculate all derived fields
         return emiRepository.save(emi);
     }
 
     @Transactional(readOnly = true)
-    public List<EMI> getUserEMIs(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return emiRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<EMIView> getUserEMIs(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<EMIView> emis;
+        if (cursor == null) {
+            emis = emiRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            emis = emiRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(emis, pageSize, emi -> PageCursor.of(emi.createdAt(), emi.id()));
     }
 
     @Transactional(readOnly = true)
     public EMI getEMIByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return emiRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("EMI not found with id: " + id));
     }
 
-    public EMI updateEMI(Long id, EMI emiDetails, String username) {
-        EMI emi = getEMIByIdAndUser(id, username);
+    @Transactional(readOnly = true)
+    public EMIView getEMIView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
 
-        // Update basic fields
-        emi.setEmiForName(emiDetails.getEmiForName());
-        emi.setPrincipal(emiDetails.getPrincipal());
-        emi.setAnnualInterestRate(emiDetails.getAnnualInterestRate());
-        emi.setTotalTenure(emiDetails.getTotalTenure());
-        emi.setTenuresPaid(emiDetails.getTenuresPaid());
+        return emiRepository.findViewByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("EMI not found with id: " + id));
+    }
 
-        // Recalculate all derived fields
-        emi.calculateEMI();
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
+    public EMI updateEMI(Long id, EMI emiDetails, String username) {
+        EMI emi = getEMIByIdAndUser(id, username);
 
+        applyDetails(emi, emiDetails);
         return emiRepository.save(emi);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
     public void deleteEMI(Long id, String username) {
         EMI emi = getEMIByIdAndUser(id, username);
         emiRepository.delete(emi);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
+    public BatchResult<EMI> applyBatch(BatchRequest<EMI> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, emiRepository,
+                ids -> emiRepository.findByUserAndIdIn(user, ids),
+                EMI::getId,
+                emi -> {
+                    emi.setId(null);
+                    emi.setUser(user);
+                    return emi;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(EMI target, EMI details) {
+        // Update basic fields
+        target.setEmiForName(details.getEmiForName());
+        target.setPrincipal(details.getPrincipal());
+        target.setAnnualInterestRate(details.getAnnualInterestRate());
+        target.setTotalTenure(details.getTotalTenure());
+        target.setTenuresPaid(details.getTenuresPaid());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
     public EMI makePayment(Long id, String username) {
         EMI emi = getEMIByIdAndUser(id, username);
         emi.makePayment();
         return emiRepository.save(emi);
     }
 
+    @Transactional(readOnly = true)
+    public AmortizationSchedule getSchedule(Long id, String username, Map<Integer, Double> prepayments) {
+        EMI emi = getEMIByIdAndUser(id, username);
+        // Derive a missing instalment locally; the entity is managed and this transaction is read-only
+        double emiAmount = emi.getEmiAmount() != null ? emi.getEmiAmount()
+                : Amortization.installment(emi.getPrincipal(), emi.getAnnualInterestRate(), emi.getTotalTenure());
+        return AmortizationSchedule.of(emi.getPrincipal(), emi.getAnnualInterestRate(), emi.getTotalTenure(),
+                emiAmount, prepayments);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
+    public List<EMI> recalculateAll(String username) {
+        User user = currentUserResolver.resolve(username);
+
+        List<EMI> emis = emiRepository.findByUserOrderByCreatedAtDesc(user);
+        for (EMI emi : emis) {
+            emi.calculateEMI();
+        }
+        return emiRepository.saveAll(emis);
+    }
+
     @Transactional(readOnly = true)
     public Double getTotalMonthlyEMI(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return emiRepository.findTotalMonthlyEMIByUser(user).orElse(0.0);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMI_SUMMARIES, key = "#username")
     public Map<String, Object> getEMISummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<EMI> emis = emiRepository.findByUser(user);
+        User user = currentUserResolver.resolve(username);
 
-        double totalPrincipal = emis.stream().mapToDouble(EMI::getPrincipal).sum();
-        double totalEMI = emis.stream().mapToDouble(EMI::getEmiAmount).sum();
-        double totalPaid = emis.stream().mapToDouble(emi -> emi.getPrincipalPaidSoFar() + emi.getInterestPaidSoFar()).sum();
-        double remainingPrincipal = emis.stream().mapToDouble(EMI::getRemainingPrincipal).sum();
+        EMISummary totals = emiRepository.summarizeByUser(user);
+        double totalPrincipal = totals.totalPrincipal();
+        double totalEMI = totals.totalMonthlyEMI();
+        double totalPaid = totals.totalPaid();
+        double remainingPrincipal = totals.remainingPrincipal();
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalEMIs", emis.size());
+        summary.put("totalEMIs", (int) totals.count());
         summary.put("totalPrincipal", Math.round(totalPrincipal * 100.0) / 100.0);
         summary.put("totalMonthlyEMI", Math.round(totalEMI * 100.0) / 100.0);
         summary.put("totalPaid", Math.round(totalPaid * 100.0) / 100.0);
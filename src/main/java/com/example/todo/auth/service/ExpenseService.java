@@ -1,17 +1,29 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.ExpenseCategoryTotal;
+import com.example.todo.auth.dto.ExpenseDailyCategoryTotal;
+import com.example.todo.auth.dto.ExpenseView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.Expense;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.ExpenseRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,11 +33,13 @@ public class ExpenseService {
     private ExpenseRepository expenseRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private BatchExecutor batchExecutor;
 
     public Expense createExpense(Expense expense, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         // Set the user for the expense
         expense.setUser(user);
@@ -39,81 +53,152 @@ public class ExpenseService {
     }
 
     @Transactional(readOnly = true)
-    public List<Expense> getUserExpenses(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public CursorPage<ExpenseView> getUserExpenses(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<ExpenseView> expenses;
+        if (cursor == null) {
+            expenses = expenseRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            expenses = expenseRepository.findPageByUserAfter(user, after.position().toLocalDate(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(expenses, pageSize, expense -> PageCursor.of(expense.date().atStartOfDay(), expense.id()));
+    }
 
-        return expenseRepository.findByUserOrderByDateDesc(user);
+    // Rows are written as they are read from the cursor
+    @Transactional(readOnly = true)
+    public void writeUserExpenses(String username, SequenceWriter rows) throws IOException {
+        User user = currentUserResolver.resolve(username);
+
+        try (Stream<ExpenseView> expenses = expenseRepository.streamByUser(user)) {
+            Iterator<ExpenseView> iterator = expenses.iterator();
+            while (iterator.hasNext()) {
+                rows.write(iterator.next());
+            }
+        }
     }
 
     @Transactional(readOnly = true)
-    public List<Expense> getMonthlyExpenses(String username, int year, int month) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<ExpenseView> getMonthlyExpenses(String username, int year, int month) {
+        User user = currentUserResolver.resolve(username);
 
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-        return expenseRepository.findByUserAndDateBetweenOrderByDateDesc(user, startDate, endDate);
+        return expenseRepository.findViewsByUserAndDateBetween(user, startDate, endDate);
     }
 
     public Expense updateExpense(Long id, Expense expenseDetails, String username) {
-        // First verify the expense belongs to the current user
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
-
-        // Security check: ensure the expense belongs to the current user
-        if (!expense.getUser().getUsername().equals(username)) {
-            throw new RuntimeException("You are not authorized to update this expense");
-        }
-
-        // Update fields
-        expense.setCategory(expenseDetails.getCategory());
-        expense.setAmount(expenseDetails.getAmount());
-        expense.setDate(expenseDetails.getDate());
-        expense.setDescription(expenseDetails.getDescription());
-        expense.setInflationRate(expenseDetails.getInflationRate());
+        // Only expenses owned by the current user are visible here
+        Expense expense = getExpenseByIdAndUser(id, username);
 
+        applyDetails(expense, expenseDetails);
         return expenseRepository.save(expense);
     }
 
     public void deleteExpense(Long id, String username) {
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
+        Expense expense = getExpenseByIdAndUser(id, username);
+        expenseRepository.delete(expense);
+    }
 
-        // Security check: ensure the expense belongs to the current user
-        if (!expense.getUser().getUsername().equals(username)) {
-            throw new RuntimeException("You are not authorized to delete this expense");
-        }
+    public BatchResult<Expense> applyBatch(BatchRequest<Expense> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, expenseRepository,
+                ids -> expenseRepository.findByUserAndIdIn(user, ids),
+                Expense::getId,
+                expense -> {
+                    expense.setId(null);
+                    expense.setUser(user);
+                    if (expense.getDate() == null) {
+                        expense.setDate(LocalDate.now());
+                    }
+                    return expense;
+                },
+                this::applyDetails);
+    }
 
-        expenseRepository.delete(expense);
+    private void applyDetails(Expense target, Expense details) {
+        // Update fields
+        target.setCategory(details.getCategory());
+        target.setAmount(details.getAmount());
+        target.setDate(details.getDate());
+        target.setDescription(details.getDescription());
+        target.setInflationRate(details.getInflationRate());
     }
 
     @Transactional(readOnly = true)
     public Map<String, Double> getCategoryWiseExpenses(String username, int year, int month) {
-        List<Expense> monthlyExpenses = getMonthlyExpenses(username, year, month);
+        User user = currentUserResolver.resolve(username);
 
-        return monthlyExpenses.stream()
-                .collect(Collectors.groupingBy(
-                        Expense::getCategory,
-                        Collectors.summingDouble(Expense::getAmount)
-                ));
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
+        Map<String, Double> categoryExpenses = new HashMap<>();
+        for (ExpenseCategoryTotal total : expenseRepository.sumByCategoryForUserAndDateBetween(user, startDate, endDate)) {
+            categoryExpenses.put(total.category(), total.total());
+        }
+        return categoryExpenses;
     }
 
     @Transactional(readOnly = true)
     public Expense getExpenseByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return expenseRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public ExpenseView getExpenseView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return expenseRepository.findViewByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
+    }
+
     @Transactional(readOnly = true)
     public Double getTotalMonthlyExpenses(String username, int year, int month) {
-        List<Expense> monthlyExpenses = getMonthlyExpenses(username, year, month);
-        return monthlyExpenses.stream()
-                .mapToDouble(Expense::getAmount)
-                .sum();
+        User user = currentUserResolver.resolve(username);
+
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
+        return expenseRepository.sumAmountByUserAndDateBetween(user, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMonthlyDashboard(String username, int year, int month) {
+        User user = currentUserResolver.resolve(username);
+
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
+        // One row per (day, category); every total below is folded from those rows
+        double total = 0.0;
+        long expenseCount = 0;
+        Map<String, Double> categoryTotals = new HashMap<>();
+        Map<LocalDate, Double> dailyTotals = new LinkedHashMap<>();
+        for (ExpenseDailyCategoryTotal row : expenseRepository.sumByDayAndCategoryForUserAndDateBetween(user, startDate, endDate)) {
+            total += row.total();
+            expenseCount += row.count();
+            categoryTotals.merge(row.category(), row.total(), Double::sum);
+            dailyTotals.merge(row.date(), row.total(), Double::sum);
+        }
+        categoryTotals.replaceAll((category, amount) -> Math.round(amount * 100.0) / 100.0);
+        dailyTotals.replaceAll((date, amount) -> Math.round(amount * 100.0) / 100.0);
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("year", year);
+        dashboard.put("month", month);
+        dashboard.put("totalExpenses", Math.round(total * 100.0) / 100.0);
+        dashboard.put("expenseCount", expenseCount);
+        dashboard.put("averageDailyExpense", Math.round(total / startDate.lengthOfMonth() * 100.0) / 100.0);
+        dashboard.put("categoryTotals", categoryTotals);
+        dashboard.put("dailyTotals", dailyTotals);
+
+        return dashboard;
     }
 }
\ No newline at end of file
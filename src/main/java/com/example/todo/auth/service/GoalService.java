@@ -1,10 +1,19 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.GoalCategoryTotals;
+import com.example.todo.auth.dto.GoalView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.Goal;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.GoalRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,119 +28,140 @@ public class GoalService {
     private GoalRepository goalRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
 
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @CacheEvict(cacheNames = CacheConfig.GOAL_SUMMARIES, key = "#username")
     public Goal createGoal(Goal goal, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         goal.setUser(user);
-        goal.calculateInflationAdjustedAmount(); // Calculate derived fields
         return goalRepository.save(goal);
     }
 
     @Transactional(readOnly = true)
-    public List<Goal> getUserGoals(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return goalRepository.findByUserOrderByCategoryAscCreatedAtDesc(user);
+    public CursorPage<GoalView> getUserGoals(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<GoalView> goals;
+        if (cursor == null) {
+            goals = goalRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            goals = goalRepository.findPageByUserAfter(user, Goal.GoalCategory.valueOf(after.group()),
+                    after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(goals, pageSize,
+                goal -> new PageCursor(goal.category().name(), goal.createdAt(), goal.id()));
     }
 
     @Transactional(readOnly = true)
     public Goal getGoalByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return goalRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Goal not found with id: " + id));
     }
 
-    public Goal updateGoal(Long id, Goal goalDetails, String username) {
-        Goal goal = getGoalByIdAndUser(id, username);
+    @Transactional(readOnly = true)
+    public GoalView getGoalView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
 
-        // Update all fields
-        goal.setName(goalDetails.getName());
-        goal.setCategory(goalDetails.getCategory());
-        goal.setDuration(goalDetails.getDuration());
-        goal.setTargetAmount(goalDetails.getTargetAmount());
-        goal.setNotes(goalDetails.getNotes());
-        goal.setInflationRate(goalDetails.getInflationRate());
+        return goalRepository.findViewByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Goal not found with id: " + id));
+    }
 
-        // Recalculate derived fields
-        goal.calculateInflationAdjustedAmount();
+    @CacheEvict(cacheNames = CacheConfig.GOAL_SUMMARIES, key = "#username")
+    public Goal updateGoal(Long id, Goal goalDetails, String username) {
+        Goal goal = getGoalByIdAndUser(id, username);
 
+        applyDetails(goal, goalDetails);
         return goalRepository.save(goal);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.GOAL_SUMMARIES, key = "#username")
     public void deleteGoal(Long id, String username) {
         Goal goal = getGoalByIdAndUser(id, username);
         goalRepository.delete(goal);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.GOAL_SUMMARIES, key = "#username")
+    public BatchResult<Goal> applyBatch(BatchRequest<Goal> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, goalRepository,
+                ids -> goalRepository.findByUserAndIdIn(user, ids),
+                Goal::getId,
+                goal -> {
+                    goal.setId(null);
+                    goal.setUser(user);
+                    return goal;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(Goal target, Goal details) {
+        // Update all fields
+        target.setName(details.getName());
+        target.setCategory(details.getCategory());
+        target.setDuration(details.getDuration());
+        target.setTargetAmount(details.getTargetAmount());
+        target.setNotes(details.getNotes());
+        target.setInflationRate(details.getInflationRate());
+    }
+
     @Transactional(readOnly = true)
-    public List<Goal> getGoalsByCategory(String username, Goal.GoalCategory category) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<GoalView> getGoalsByCategory(String username, Goal.GoalCategory category) {
+        User user = currentUserResolver.resolve(username);
 
-        return goalRepository.findByUserAndCategory(user, category);
+        return goalRepository.findViewsByUserAndCategory(user, category);
     }
 
     @Transactional(readOnly = true)
-    public List<Goal> getShortTermGoals(String username) {
+    public List<GoalView> getShortTermGoals(String username) {
         return getGoalsByCategory(username, Goal.GoalCategory.SHORT_TERM);
     }
 
     @Transactional(readOnly = true)
-    public List<Goal> getMediumTermGoals(String username) {
+    public List<GoalView> getMediumTermGoals(String username) {
         return getGoalsByCategory(username, Goal.GoalCategory.MEDIUM_TERM);
     }
 
     @Transactional(readOnly = true)
-    public List<Goal> getLongTermGoals(String username) {
+    public List<GoalView> getLongTermGoals(String username) {
         return getGoalsByCategory(username, Goal.GoalCategory.LONG_TERM);
     }
 
     @Transactional(readOnly = true)
-    public List<Goal> getRetirementGoals(String username) {
+    public List<GoalView> getRetirementGoals(String username) {
         return getGoalsByCategory(username, Goal.GoalCategory.RETIREMENT);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GOAL_SUMMARIES, key = "#username")
     public Map<String, Object> getGoalsSummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<Goal> goals = goalRepository.findByUser(user);
-
-        double totalTargetAmount = goalRepository.findTotalTargetAmountByUser(user).orElse(0.0);
-
-        // Count by category
-        Map<Goal.GoalCategory, Long> categoryCounts = new HashMap<>();
-        List<Object[]> categoryCountsResult = goalRepository.countByCategoryForUser(user);
-        for (Object[] result : categoryCountsResult) {
-            Goal.GoalCategory category = (Goal.GoalCategory) result[0];
-            Long count = (Long) result[1];
-            categoryCounts.put(category, count);
+        User user = currentUserResolver.resolve(username);
+
+        // One row per category; the overall totals are rolled up from those rows
+        long totalGoals = 0;
+        long totalDuration = 0;
+        double totalTargetAmount = 0.0;
+        Map<Goal.GoalCategory, Long> categoryCounts = new EnumMap<>(Goal.GoalCategory.class);
+        Map<Goal.GoalCategory, Double> categoryAmounts = new EnumMap<>(Goal.GoalCategory.class);
+        for (GoalCategoryTotals totals : goalRepository.summarizeByCategoryForUser(user)) {
+            categoryCounts.put(totals.category(), totals.count());
+            categoryAmounts.put(totals.category(), totals.totalTargetAmount());
+            totalGoals += totals.count();
+            totalDuration += totals.totalDuration();
+            totalTargetAmount += totals.totalTargetAmount();
         }
-
-        // Sum by category
-        Map<Goal.GoalCategory, Double> categoryAmounts = new HashMap<>();
-        List<Object[]> categoryAmountsResult = goalRepository.sumTargetAmountByCategoryForUser(user);
-        for (Object[] result : categoryAmountsResult) {
-            Goal.GoalCategory category = (Goal.GoalCategory) result[0];
-            Double amount = (Double) result[1];
-            categoryAmounts.put(category, amount);
-        }
-
-        // Calculate average duration
-        double averageDuration = goals.stream()
-                .mapToInt(Goal::getDuration)
-                .average()
-                .orElse(0.0);
+        double averageDuration = totalGoals > 0 ? (double) totalDuration / totalGoals : 0.0;
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalGoals", goals.size());
+        summary.put("totalGoals", (int) totalGoals);
         summary.put("totalTargetAmount", Math.round(totalTargetAmount * 100.0) / 100.0);
         summary.put("categoryDistribution", categoryCounts);
         summary.put("categoryAmounts", categoryAmounts);
@@ -182,8 +212,7 @@ public class GoalService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getUpcomingGoals(String username, int yearsAhead) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         List<Goal> goals = goalRepository.findByUserAndDurationLessThanEqual(user, yearsAhead);
 
@@ -1,10 +1,22 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.calculation.IncomeProgression;
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.ConsolidatedIncomeRow;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.IncomeProgressionRow;
+import com.example.todo.auth.dto.IncomeSourceSummary;
+import com.example.todo.auth.dto.IncomeSourceView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.IncomeSource;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.IncomeSourceRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,68 +34,101 @@ public class IncomeSourceService {
     private IncomeSourceRepository incomeSourceRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
 
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @CacheEvict(cacheNames = CacheConfig.INCOME_SOURCE_SUMMARIES, key = "#username")
     public IncomeSource createIncomeSource(IncomeSource incomeSource, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         incomeSource.setUser(user);
-        incomeSource.calculateIncomeProjection(); // Calculate all derived fields
         return incomeSourceRepository.save(incomeSource);
     }
 
     @Transactional(readOnly = true)
-    public List<IncomeSource> getUserIncomeSources(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return incomeSourceRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<IncomeSourceView> getUserIncomeSources(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<IncomeSourceView> incomeSources;
+        if (cursor == null) {
+            incomeSources = incomeSourceRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            incomeSources = incomeSourceRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(incomeSources, pageSize, incomeSource -> PageCursor.of(incomeSource.createdAt(), incomeSource.id()));
     }
 
     @Transactional(readOnly = true)
     public IncomeSource getIncomeSourceByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return incomeSourceRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Income source not found with id: " + id));
     }
 
-    public IncomeSource updateIncomeSource(Long id, IncomeSource incomeSourceDetails, String username) {
-        IncomeSource incomeSource = getIncomeSourceByIdAndUser(id, username);
+    @Transactional(readOnly = true)
+    public IncomeSourceView getIncomeSourceView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
 
-        // Update basic fields
-        incomeSource.setSourceName(incomeSourceDetails.getSourceName());
-        incomeSource.setInitialMonthlyIncome(incomeSourceDetails.getInitialMonthlyIncome());
-        incomeSource.setAnnualGrowthRate(incomeSourceDetails.getAnnualGrowthRate());
-        incomeSource.setYears(incomeSourceDetails.getYears());
+        return incomeSourceRepository.findViewByIdAndUser(id, user)
+                .map(IncomeSourceView::withYearlyIncomeProgression)
+                .orElseThrow(() -> new RuntimeException("Income source not found with id: " + id));
+    }
 
-        // Recalculate all derived fields
-        incomeSource.calculateIncomeProjection();
+    @CacheEvict(cacheNames = CacheConfig.INCOME_SOURCE_SUMMARIES, key = "#username")
+    public IncomeSource updateIncomeSource(Long id, IncomeSource incomeSourceDetails, String username) {
+        IncomeSource incomeSource = getIncomeSourceByIdAndUser(id, username);
 
+        applyDetails(incomeSource, incomeSourceDetails);
         return incomeSourceRepository.save(incomeSource);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INCOME_SOURCE_SUMMARIES, key = "#username")
     public void deleteIncomeSource(Long id, String username) {
         IncomeSource incomeSource = getIncomeSourceByIdAndUser(id, username);
         incomeSourceRepository.delete(incomeSource);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INCOME_SOURCE_SUMMARIES, key = "#username")
+    public BatchResult<IncomeSource> applyBatch(BatchRequest<IncomeSource> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, incomeSourceRepository,
+                ids -> incomeSourceRepository.findByUserAndIdIn(user, ids),
+                IncomeSource::getId,
+                incomeSource -> {
+                    incomeSource.setId(null);
+                    incomeSource.setUser(user);
+                    return incomeSource;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(IncomeSource target, IncomeSource details) {
+        // Update basic fields
+        target.setSourceName(details.getSourceName());
+        target.setInitialMonthlyIncome(details.getInitialMonthlyIncome());
+        target.setAnnualGrowthRate(details.getAnnualGrowthRate());
+        target.setYears(details.getYears());
+    }
+
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.INCOME_SOURCE_SUMMARIES, key = "#username")
     public Map<String, Object> getIncomeSourceSummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<IncomeSource> incomeSources = incomeSourceRepository.findByUser(user);
+        User user = currentUserResolver.resolve(username);
 
-        double totalInitialMonthlyIncome = incomeSourceRepository.findTotalInitialMonthlyIncomeByUser(user).orElse(0.0);
-        double totalProjectedMonthlyIncome = incomeSourceRepository.findTotalProjectedMonthlyIncomeByUser(user).orElse(0.0);
-        double totalAmountReceived = incomeSourceRepository.findTotalAmountReceivedByUser(user).orElse(0.0);
-        double averageGrowthRate = incomeSourceRepository.findAverageGrowthRateByUser(user).orElse(0.0);
+        IncomeSourceSummary totals = incomeSourceRepository.summarizeByUser(user);
+        double totalInitialMonthlyIncome = totals.totalInitialMonthlyIncome();
+        double totalProjectedMonthlyIncome = totals.totalProjectedMonthlyIncome();
+        double totalAmountReceived = totals.totalAmountReceived();
+        double averageGrowthRate = totals.averageGrowthRate();
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalIncomeSources", incomeSources.size());
+        summary.put("totalIncomeSources", (int) totals.count());
         summary.put("totalInitialMonthlyIncome", Math.round(totalInitialMonthlyIncome * 100.0) / 100.0);
         summary.put("totalProjectedMonthlyIncome", Math.round(totalProjectedMonthlyIncome * 100.0) / 100.0);
         summary.put("totalAmountReceived", Math.round(totalAmountReceived * 100.0) / 100.0);
@@ -94,11 +139,22 @@ public class IncomeSourceService {
         return summary;
     }
 
-    public List<Map<String, Object>> getIncomeProgression(Long id, String username) {
+    public List<IncomeProgressionRow> getIncomeProgression(Long id, String username) {
         IncomeSource incomeSource = getIncomeSourceByIdAndUser(id, username);
         return incomeSource.getYearlyIncomeProgression();
     }
 
+    @Transactional(readOnly = true)
+    public List<ConsolidatedIncomeRow> getConsolidatedProgression(String username) {
+        User user = currentUserResolver.resolve(username);
+
+        IncomeProgression.Timeline timeline = new IncomeProgression.Timeline();
+        for (IncomeSource incomeSource : incomeSourceRepository.findByUser(user)) {
+            timeline.add(incomeSource.getInitialMonthlyIncome(), incomeSource.getAnnualGrowthRate(), incomeSource.getYears());
+        }
+        return timeline.rows();
+    }
+
     public Map<String, Object> getIncomeForYear(Long id, Integer targetYear, String username) {
         IncomeSource incomeSource = getIncomeSourceByIdAndUser(id, username);
         return incomeSource.calculateIncomeForYear(targetYear);
@@ -106,8 +162,7 @@ public class IncomeSourceService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getFastestGrowingIncomes(String username, int limit) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         List<IncomeSource> incomeSources = incomeSourceRepository.findByUser(user);
 
@@ -130,8 +185,7 @@ public class IncomeSourceService {
 
     @Transactional(readOnly = true)
     public Map<String, Object> getYearlyIncomeSummary(String username, int targetYear) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         List<IncomeSource> incomeSources = incomeSourceRepository.findByUser(user);
 
@@ -1,110 +1,162 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.InvestmentOptionCandidate;
+import com.example.todo.auth.dto.InvestmentOptionView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.InvestmentOption;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.InvestmentOptionRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class InvestmentOptionService {
 
+    public static final int DEFAULT_RECOMMENDATIONS = 10;
+    public static final int MAX_RECOMMENDATIONS = 100;
+
     @Autowired
     private InvestmentOptionRepository investmentOptionRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private BatchExecutor batchExecutor;
 
+    @CacheEvict(cacheNames = CacheConfig.INVESTMENT_OPTION_SUMMARIES, key = "#username")
     public InvestmentOption createInvestmentOption(InvestmentOption investmentOption, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         investmentOption.setUser(user);
         return investmentOptionRepository.save(investmentOption);
     }
 
     @Transactional(readOnly = true)
-    public List<InvestmentOption> getUserInvestmentOptions(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return investmentOptionRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<InvestmentOptionView> getUserInvestmentOptions(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<InvestmentOptionView> options;
+        if (cursor == null) {
+            options = investmentOptionRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            options = investmentOptionRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(options, pageSize, option -> PageCursor.of(option.createdAt(), option.id()));
     }
 
     @Transactional(readOnly = true)
     public InvestmentOption getInvestmentOptionByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return investmentOptionRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Investment option not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public InvestmentOptionView getInvestmentOptionView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return investmentOptionRepository.findViewByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Investment option not found with id: " + id));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.INVESTMENT_OPTION_SUMMARIES, key = "#username")
     public InvestmentOption updateInvestmentOption(Long id, InvestmentOption investmentOptionDetails, String username) {
         InvestmentOption investmentOption = getInvestmentOptionByIdAndUser(id, username);
 
-        // Update all fields
-        investmentOption.setName(investmentOptionDetails.getName());
-        investmentOption.setCategory(investmentOptionDetails.getCategory());
-        investmentOption.setMinCAGR(investmentOptionDetails.getMinCAGR());
-        investmentOption.setMaxCAGR(investmentOptionDetails.getMaxCAGR());
-        investmentOption.setRiskLevel(investmentOptionDetails.getRiskLevel());
-        investmentOption.setLiquidity(investmentOptionDetails.getLiquidity());
-        investmentOption.setTaxEfficiency(investmentOptionDetails.getTaxEfficiency());
-        investmentOption.setNotes(investmentOptionDetails.getNotes());
-
+        applyDetails(investmentOption, investmentOptionDetails);
         return investmentOptionRepository.save(investmentOption);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INVESTMENT_OPTION_SUMMARIES, key = "#username")
     public void deleteInvestmentOption(Long id, String username) {
         InvestmentOption investmentOption = getInvestmentOptionByIdAndUser(id, username);
         investmentOptionRepository.delete(investmentOption);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INVESTMENT_OPTION_SUMMARIES, key = "#username")
+    public BatchResult<InvestmentOption> applyBatch(BatchRequest<InvestmentOption> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, investmentOptionRepository,
+                ids -> investmentOptionRepository.findByUserAndIdIn(user, ids),
+                InvestmentOption::getId,
+                investmentOption -> {
+                    investmentOption.setId(null);
+                    investmentOption.setUser(user);
+                    return investmentOption;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(InvestmentOption target, InvestmentOption details) {
+        // Update all fields
+        target.setName(details.getName());
+        target.setCategory(details.getCategory());
+        target.setMinCAGR(details.getMinCAGR());
+        target.setMaxCAGR(details.getMaxCAGR());
+        target.setRiskLevel(details.getRiskLevel());
+        target.setLiquidity(details.getLiquidity());
+        target.setTaxEfficiency(details.getTaxEfficiency());
+        target.setNotes(details.getNotes());
+    }
+
     @Transactional(readOnly = true)
-    public List<InvestmentOption> getInvestmentOptionsByCategory(String username, InvestmentOption.InvestmentCategory category) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<InvestmentOptionView> getInvestmentOptionsByCategory(String username, InvestmentOption.InvestmentCategory category) {
+        User user = currentUserResolver.resolve(username);
 
-        return investmentOptionRepository.findByUserAndCategory(user, category);
+        return investmentOptionRepository.findViewsByUserAndCategory(user, category);
     }
 
     @Transactional(readOnly = true)
-    public List<InvestmentOption> getInvestmentOptionsByRiskLevel(String username, InvestmentOption.RiskLevel riskLevel) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<InvestmentOptionView> getInvestmentOptionsByRiskLevel(String username, InvestmentOption.RiskLevel riskLevel) {
+        User user = currentUserResolver.resolve(username);
 
-        return investmentOptionRepository.findByUserAndRiskLevel(user, riskLevel);
+        return investmentOptionRepository.findViewsByUserAndRiskLevel(user, riskLevel);
     }
 
     @Transactional(readOnly = true)
-    public List<InvestmentOption> getInvestmentOptionsByLiquidity(String username, InvestmentOption.Liquidity liquidity) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<InvestmentOptionView> getInvestmentOptionsByLiquidity(String username, InvestmentOption.Liquidity liquidity) {
+        User user = currentUserResolver.resolve(username);
 
-        return investmentOptionRepository.findByUserAndLiquidity(user, liquidity);
+        return investmentOptionRepository.findViewsByUserAndLiquidity(user, liquidity);
     }
 
     @Transactional(readOnly = true)
-    public List<InvestmentOption> getInvestmentOptionsByCAGRRange(String username, Double minCAGR, Double maxCAGR) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public List<InvestmentOptionView> getInvestmentOptionsByCAGRRange(String username, Double minCAGR, Double maxCAGR) {
+        User user = currentUserResolver.resolve(username);
 
-        return investmentOptionRepository.findByUserAndCAGRRange(user, minCAGR, maxCAGR);
+        return investmentOptionRepository.findViewsByUserAndCAGRRange(user, minCAGR, maxCAGR);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.INVESTMENT_OPTION_SUMMARIES, key = "#username")
     public Map<String, Object> getInvestmentOptionsSummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         List<InvestmentOption> investmentOptions = investmentOptionRepository.findByUser(user);
 
@@ -137,56 +189,89 @@ public class InvestmentOptionService {
         return summary;
     }
 
+    /**
+     * Options within the preferred risk, liquidity and minimum CAGR, best match first.
+     * The filters run in the query; only the best {@code limit} matches are kept while
+     * the rows stream past, so memory stays bounded however large the catalog is.
+     */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRecommendedOptions(String username,
                                                            InvestmentOption.RiskLevel preferredRiskLevel,
                                                            InvestmentOption.Liquidity preferredLiquidity,
-                                                           Double minExpectedCAGR) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<InvestmentOption> allOptions = investmentOptionRepository.findByUser(user);
-
-        return allOptions.stream()
-                .filter(option -> option.getRiskLevel().ordinal() <= preferredRiskLevel.ordinal())
-                .filter(option -> option.getLiquidity().ordinal() >= preferredLiquidity.ordinal())
-                .filter(option -> option.getAverageCAGR() >= minExpectedCAGR)
-                .sorted((o1, o2) -> Double.compare(o2.getAverageCAGR(), o1.getAverageCAGR()))
-                .map(option -> {
-                    Map<String, Object> recommendation = new HashMap<>();
-                    recommendation.put("id", option.getId());
-                    recommendation.put("name", option.getName());
-                    recommendation.put("category", option.getCategory());
-                    recommendation.put("averageCAGR", Math.round(option.getAverageCAGR() * 100.0) / 100.0);
-                    recommendation.put("riskLevel", option.getRiskLevel());
-                    recommendation.put("liquidity", option.getLiquidity());
-                    recommendation.put("matchScore", calculateMatchScore(option, preferredRiskLevel, preferredLiquidity, minExpectedCAGR));
-                    return recommendation;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private int calculateMatchScore(InvestmentOption option,
+                                                           Double minExpectedCAGR,
+                                                           Integer limit) {
+        int size = limit != null ? limit : DEFAULT_RECOMMENDATIONS;
+        if (size < 1 || size > MAX_RECOMMENDATIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RECOMMENDATIONS);
+        }
+        User user = currentUserResolver.resolve(username);
+
+        // The enum ranges calculateMatchScore rewards: risk ordinals up to the preference, liquidity ordinals from it
+        List<InvestmentOption.RiskLevel> riskLevels = Arrays.asList(InvestmentOption.RiskLevel.values())
+                .subList(0, preferredRiskLevel.ordinal() + 1);
+        List<InvestmentOption.Liquidity> liquidities = Arrays.asList(InvestmentOption.Liquidity.values())
+                .subList(preferredLiquidity.ordinal(), InvestmentOption.Liquidity.values().length);
+
+        // Min-heap on the ranking, so the weakest of the current top matches is evicted first
+        Comparator<ScoredOption> ranking = Comparator.comparingInt(ScoredOption::score)
+                .thenComparingDouble(scored -> scored.option().averageCAGR())
+                .thenComparing(scored -> scored.option().id(), Comparator.reverseOrder());
+        PriorityQueue<ScoredOption> best = new PriorityQueue<>(size + 1, ranking);
+        try (Stream<InvestmentOptionCandidate> candidates = investmentOptionRepository.streamCandidates(
+                user, minExpectedCAGR, riskLevels, liquidities)) {
+            Iterator<InvestmentOptionCandidate> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                InvestmentOptionCandidate option = iterator.next();
+                best.offer(new ScoredOption(option,
+                        calculateMatchScore(option, preferredRiskLevel, preferredLiquidity, minExpectedCAGR)));
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<ScoredOption> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<Map<String, Object>> recommendations = new ArrayList<>(ranked.size());
+        for (ScoredOption scored : ranked) {
+            InvestmentOptionCandidate option = scored.option();
+            Map<String, Object> recommendation = new LinkedHashMap<>();
+            recommendation.put("id", option.id());
+            recommendation.put("name", option.name());
+            recommendation.put("category", option.category());
+            recommendation.put("averageCAGR", Math.round(option.averageCAGR() * 100.0) / 100.0);
+            recommendation.put("riskLevel", option.riskLevel());
+            recommendation.put("liquidity", option.liquidity());
+            recommendation.put("matchScore", scored.score());
+            recommendations.add(recommendation);
+        }
+        return recommendations;
+    }
+
+    private int calculateMatchScore(InvestmentOptionCandidate option,
                                     InvestmentOption.RiskLevel preferredRiskLevel,
                                     InvestmentOption.Liquidity preferredLiquidity,
                                     Double minExpectedCAGR) {
         int score = 0;
 
         // Risk score (lower risk is better if within preferred range)
-        if (option.getRiskLevel().ordinal() <= preferredRiskLevel.ordinal()) {
-            score += (preferredRiskLevel.ordinal() - option.getRiskLevel().ordinal()) * 10;
+        if (option.riskLevel().ordinal() <= preferredRiskLevel.ordinal()) {
+            score += (preferredRiskLevel.ordinal() - option.riskLevel().ordinal()) * 10;
         }
 
         // Liquidity score (higher liquidity is better)
-        if (option.getLiquidity().ordinal() >= preferredLiquidity.ordinal()) {
-            score += (option.getLiquidity().ordinal() - preferredLiquidity.ordinal()) * 5;
+        if (option.liquidity().ordinal() >= preferredLiquidity.ordinal()) {
+            score += (option.liquidity().ordinal() - preferredLiquidity.ordinal()) * 5;
         }
 
         // CAGR score (higher CAGR is better)
-        if (option.getAverageCAGR() >= minExpectedCAGR) {
-            score += (int) ((option.getAverageCAGR() - minExpectedCAGR) * 20);
+        if (option.averageCAGR() >= minExpectedCAGR) {
+            score += (int) ((option.averageCAGR() - minExpectedCAGR) * 20);
         }
 
         return score;
     }
+
+    private record ScoredOption(InvestmentOptionCandidate option, int score) {
+    }
 }
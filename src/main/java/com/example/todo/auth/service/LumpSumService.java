@@ -1,10 +1,19 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.LumpSumSummary;
+import com.example.todo.auth.dto.LumpSumView;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.entity.LumpSum;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.LumpSumRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,68 +30,101 @@ public class LumpSumService {
     private LumpSumRepository lumpSumRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
 
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @CacheEvict(cacheNames = CacheConfig.LUMP_SUM_SUMMARIES, key = "#username")
     public LumpSum createLumpSum(LumpSum lumpSum, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         lumpSum.setUser(user);
-        lumpSum.calculateLumpSum(); // Calculate all derived fields
         return lumpSumRepository.save(lumpSum);
     }
 
     @Transactional(readOnly = true)
-    public List<LumpSum> getUserLumpSums(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return lumpSumRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<LumpSumView> getUserLumpSums(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<LumpSumView> lumpSums;
+        if (cursor == null) {
+            lumpSums = lumpSumRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            lumpSums = lumpSumRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(lumpSums, pageSize, lumpSum -> PageCursor.of(lumpSum.createdAt(), lumpSum.id()));
     }
 
     @Transactional(readOnly = true)
     public LumpSum getLumpSumByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return lumpSumRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("LumpSum not found with id: " + id));
     }
 
-    public LumpSum updateLumpSum(Long id, LumpSum lumpSumDetails, String username) {
-        LumpSum lumpSum = getLumpSumByIdAndUser(id, username);
+    @Transactional(readOnly = true)
+    public LumpSumView getLumpSumView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
 
-        // Update basic fields
-        lumpSum.setInvestmentName(lumpSumDetails.getInvestmentName());
-        lumpSum.setPrincipalAmount(lumpSumDetails.getPrincipalAmount());
-        lumpSum.setDuration(lumpSumDetails.getDuration());
-        lumpSum.setExpectedReturn(lumpSumDetails.getExpectedReturn());
+        return lumpSumRepository.findViewByIdAndUser(id, user)
+                .map(LumpSumView::withYearlyProjection)
+                .orElseThrow(() -> new RuntimeException("LumpSum not found with id: " + id));
+    }
 
-        // Recalculate all derived fields
-        lumpSum.calculateLumpSum();
+    @CacheEvict(cacheNames = CacheConfig.LUMP_SUM_SUMMARIES, key = "#username")
+    public LumpSum updateLumpSum(Long id, LumpSum lumpSumDetails, String username) {
+        LumpSum lumpSum = getLumpSumByIdAndUser(id, username);
 
+        applyDetails(lumpSum, lumpSumDetails);
         return lumpSumRepository.save(lumpSum);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LUMP_SUM_SUMMARIES, key = "#username")
     public void deleteLumpSum(Long id, String username) {
         LumpSum lumpSum = getLumpSumByIdAndUser(id, username);
         lumpSumRepository.delete(lumpSum);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LUMP_SUM_SUMMARIES, key = "#username")
+    public BatchResult<LumpSum> applyBatch(BatchRequest<LumpSum> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, lumpSumRepository,
+                ids -> lumpSumRepository.findByUserAndIdIn(user, ids),
+                LumpSum::getId,
+                lumpSum -> {
+                    lumpSum.setId(null);
+                    lumpSum.setUser(user);
+                    return lumpSum;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(LumpSum target, LumpSum details) {
+        // Update basic fields
+        target.setInvestmentName(details.getInvestmentName());
+        target.setPrincipalAmount(details.getPrincipalAmount());
+        target.setDuration(details.getDuration());
+        target.setExpectedReturn(details.getExpectedReturn());
+    }
+
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LUMP_SUM_SUMMARIES, key = "#username")
     public Map<String, Object> getLumpSumSummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<LumpSum> lumpSums = lumpSumRepository.findByUser(user);
+        User user = currentUserResolver.resolve(username);
 
-        double totalPrincipal = lumpSumRepository.findTotalPrincipalByUser(user).orElse(0.0);
-        double totalFutureValue = lumpSumRepository.findTotalFutureValueByUser(user).orElse(0.0);
-        double totalInterest = lumpSumRepository.findTotalInterestByUser(user).orElse(0.0);
-        double averageReturn = lumpSumRepository.findAverageReturnByUser(user).orElse(0.0);
+        LumpSumSummary totals = lumpSumRepository.summarizeByUser(user);
+        double totalPrincipal = totals.totalPrincipal();
+        double totalFutureValue = totals.totalFutureValue();
+        double totalInterest = totals.totalInterest();
+        double averageReturn = totals.averageReturn();
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalLumpSums", lumpSums.size());
+        summary.put("totalLumpSums", (int) totals.count());
         summary.put("totalPrincipal", Math.round(totalPrincipal * 100.0) / 100.0);
         summary.put("totalFutureValue", Math.round(totalFutureValue * 100.0) / 100.0);
         summary.put("totalInterest", Math.round(totalInterest * 100.0) / 100.0);
@@ -106,8 +148,7 @@ public class LumpSumService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getTopPerformingInvestments(String username, int limit) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         List<LumpSum> lumpSums = lumpSumRepository.findByUser(user);
 
@@ -1,14 +1,23 @@
 package com.example.todo.auth.service;
 
+import com.example.todo.auth.calculation.SIPProjection;
+import com.example.todo.auth.config.CacheConfig;
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.PageCursor;
+import com.example.todo.auth.dto.SIPSummary;
+import com.example.todo.auth.dto.SIPView;
 import com.example.todo.auth.entity.SIP;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.SIPRepository;
+import com.example.todo.auth.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,81 +30,112 @@ public class SIPService {
     private SIPRepository sipRepository;
 
     @Autowired
-    private UserService userService;
+    private CurrentUserResolver currentUserResolver;
 
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @CacheEvict(cacheNames = CacheConfig.SIP_SUMMARIES, key = "#username")
     public SIP createSIP(SIP sip, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         sip.setUser(user);
-        sip.calculateSIP(); // Calculate all derived fields
         return sipRepository.save(sip);
     }
 
     @Transactional(readOnly = true)
-    public List<SIP> getUserSIPs(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return sipRepository.findByUserOrderByCreatedAtDesc(user);
+    public CursorPage<SIPView> getUserSIPs(String username, String cursor, Integer size) {
+        User user = currentUserResolver.resolve(username);
+
+        int pageSize = CursorPage.pageSize(size);
+        List<SIPView> sips;
+        if (cursor == null) {
+            sips = sipRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            sips = sipRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(sips, pageSize, sip -> PageCursor.of(sip.createdAt(), sip.id()));
     }
 
     @Transactional(readOnly = true)
     public SIP getSIPByIdAndUser(Long id, String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return sipRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("SIP not found with id: " + id));
     }
 
-    public SIP updateSIP(Long id, SIP sipDetails, String username) {
-        SIP sip = getSIPByIdAndUser(id, username);
+    @Transactional(readOnly = true)
+    public SIPView getSIPView(Long id, String username) {
+        User user = currentUserResolver.resolve(username);
 
-        // Update basic fields
-        sip.setInvestmentOnName(sipDetails.getInvestmentOnName());
-        sip.setMonthlyInvestment(sipDetails.getMonthlyInvestment());
-        sip.setDuration(sipDetails.getDuration());
-        sip.setExpectedReturn(sipDetails.getExpectedReturn());
+        return sipRepository.findViewByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("SIP not found with id: " + id));
+    }
 
-        // Recalculate all derived fields
-        sip.calculateSIP();
+    @CacheEvict(cacheNames = CacheConfig.SIP_SUMMARIES, key = "#username")
+    public SIP updateSIP(Long id, SIP sipDetails, String username) {
+        SIP sip = getSIPByIdAndUser(id, username);
 
+        applyDetails(sip, sipDetails);
         return sipRepository.save(sip);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.SIP_SUMMARIES, key = "#username")
     public void deleteSIP(Long id, String username) {
         SIP sip = getSIPByIdAndUser(id, username);
         sipRepository.delete(sip);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.SIP_SUMMARIES, key = "#username")
+    public BatchResult<SIP> applyBatch(BatchRequest<SIP> request, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        return batchExecutor.execute(request, sipRepository,
+                ids -> sipRepository.findByUserAndIdIn(user, ids),
+                SIP::getId,
+                sip -> {
+                    sip.setId(null);
+                    sip.setUser(user);
+                    return sip;
+                },
+                this::applyDetails);
+    }
+
+    private void applyDetails(SIP target, SIP details) {
+        // Update basic fields
+        target.setInvestmentOnName(details.getInvestmentOnName());
+        target.setMonthlyInvestment(details.getMonthlyInvestment());
+        target.setDuration(details.getDuration());
+        target.setExpectedReturn(details.getExpectedReturn());
+    }
+
     @Transactional(readOnly = true)
     public Double getTotalMonthlyInvestment(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = currentUserResolver.resolve(username);
 
         return sipRepository.findTotalMonthlyInvestmentByUser(user).orElse(0.0);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SIP_SUMMARIES, key = "#username")
     public Map<String, Object> getSIPSummary(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        List<SIP> sips = sipRepository.findByUser(user);
+        User user = currentUserResolver.resolve(username);
 
-        double totalMonthlyInvestment = sips.stream().mapToDouble(SIP::getMonthlyInvestment).sum();
-        double totalFutureValue = sips.stream().mapToDouble(SIP::getFutureValue).sum();
-        double totalInvestment = sips.stream().mapToDouble(SIP::getTotalInvestment).sum();
-        double totalExpectedInterest = sips.stream().mapToDouble(SIP::getTotalInterestPaid).sum();
+        SIPSummary totals = sipRepository.summarizeByUser(user);
+        double totalMonthlyInvestment = totals.totalMonthlyInvestment();
+        double totalFutureValue = totals.totalFutureValue();
+        double totalInvestment = totals.totalInvestment();
+        double totalExpectedInterest = totals.totalExpectedInterest();
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalSIPs", sips.size());
+        summary.put("totalSIPs", (int) totals.count());
         summary.put("totalMonthlyInvestment", Math.round(totalMonthlyInvestment * 100.0) / 100.0);
         summary.put("totalFutureValue", Math.round(totalFutureValue * 100.0) / 100.0);
         summary.put("totalInvestment", Math.round(totalInvestment * 100.0) / 100.0);
         summary.put("totalExpectedInterest", Math.round(totalExpectedInterest * 100.0) / 100.0);
-        summary.put("averageReturn", sips.isEmpty() ? 0.0 : Math.round(sips.stream().mapToDouble(SIP::getExpectedReturn).average().orElse(0.0) * 100.0) / 100.0);
+        summary.put("averageReturn", Math.round(totals.averageReturn() * 100.0) / 100.0);
 
         return summary;
     }
@@ -107,21 +147,8 @@ public class SIPService {
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getSIPProjection(Long id, String username) {
+    public SIPProjection getSIPProjection(Long id, String username) {
         SIP sip = getSIPByIdAndUser(id, username);
-        List<Map<String, Object>> projection = new ArrayList<>();
-
-        for (int month = 1; month <= sip.getDuration(); month++) {
-            Map<String, Double> monthlyData = sip.calculateForPeriod(month);
-            Map<String, Object> projectionData = new HashMap<>();
-            projectionData.put("month", month);
-            projectionData.put("monthlyInvestment", sip.getMonthlyInvestment());
-            projectionData.put("cumulativeInvestment", monthlyData.get("investedSoFar"));
-            projectionData.put("interestEarned", monthlyData.get("interestSoFar"));
-            projectionData.put("totalValue", monthlyData.get("currentValue"));
-            projection.add(projectionData);
-        }
-
-        return projection;
+        return SIPProjection.compute(sip.getMonthlyInvestment(), sip.getExpectedReturn(), sip.getDuration());
     }
 }
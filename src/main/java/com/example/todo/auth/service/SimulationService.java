@@ -0,0 +1,100 @@
+package com.example.todo.auth.service;
+
+import com.example.todo.auth.calculation.ReturnSimulation;
+import com.example.todo.auth.entity.InvestmentOption;
+import com.example.todo.auth.entity.LumpSum;
+import com.example.todo.auth.entity.SIP;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Monte Carlo outcomes for SIPs and lump sums. Returns default to the investment's own
+ * expected return with medium-risk volatility; passing an investment option uses its
+ * average CAGR and the volatility of its risk level instead. An explicit volatility
+ * overrides either. The seed is echoed back so a result can be reproduced.
+ */
+@Service
+public class SimulationService {
+
+    @Autowired
+    private SIPService sipService;
+
+    @Autowired
+    private LumpSumService lumpSumService;
+
+    @Autowired
+    private InvestmentOptionService investmentOptionService;
+
+    @Autowired
+    @Qualifier("simulationPool")
+    private ForkJoinPool pool;
+
+    public Map<String, Object> simulateSIP(Long id, Long optionId, Double volatility, Integer paths, Long seed,
+                                           String username) {
+        SIP sip = sipService.getSIPByIdAndUser(id, username);
+        Assumption assumption = assumption(sip.getExpectedReturn(), optionId, volatility, username);
+        long resolvedSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
+        ReturnSimulation simulation = ReturnSimulation.simulateSip(sip.getMonthlyInvestment(), sip.getDuration(),
+                assumption.annualReturn(), assumption.annualVolatility(), paths(paths), resolvedSeed, pool);
+        return result(simulation, assumption, resolvedSeed, sip.getMonthlyInvestment() * sip.getDuration());
+    }
+
+    public Map<String, Object> simulateLumpSum(Long id, Long optionId, Double volatility, Integer paths, Long seed,
+                                               String username) {
+        LumpSum lumpSum = lumpSumService.getLumpSumByIdAndUser(id, username);
+        Assumption assumption = assumption(lumpSum.getExpectedReturn(), optionId, volatility, username);
+        long resolvedSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
+        ReturnSimulation simulation = ReturnSimulation.simulateLumpSum(lumpSum.getPrincipalAmount(),
+                lumpSum.getDuration(), assumption.annualReturn(), assumption.annualVolatility(),
+                paths(paths), resolvedSeed, pool);
+        return result(simulation, assumption, resolvedSeed, lumpSum.getPrincipalAmount());
+    }
+
+    private Assumption assumption(double expectedReturn, Long optionId, Double volatility, String username) {
+        double annualReturn = expectedReturn;
+        double annualVolatility = InvestmentOption.annualVolatility(InvestmentOption.RiskLevel.MEDIUM);
+        if (optionId != null) {
+            InvestmentOption option = investmentOptionService.getInvestmentOptionByIdAndUser(optionId, username);
+            annualReturn = option.getAverageCAGR();
+            annualVolatility = InvestmentOption.annualVolatility(option.getRiskLevel());
+        }
+        return new Assumption(annualReturn, volatility != null ? volatility : annualVolatility);
+    }
+
+    private static int paths(Integer paths) {
+        return paths != null ? paths : ReturnSimulation.DEFAULT_PATHS;
+    }
+
+    private static Map<String, Object> result(ReturnSimulation simulation, Assumption assumption, long seed,
+                                              double invested) {
+        int last = simulation.getCheckpoints() - 1;
+
+        Map<String, Object> outcome = new LinkedHashMap<>();
+        outcome.put("p10", simulation.percentile(last, 0.1));
+        outcome.put("p50", simulation.percentile(last, 0.5));
+        outcome.put("p90", simulation.percentile(last, 0.9));
+        outcome.put("mean", simulation.mean(last));
+        outcome.put("probabilityOfLoss", simulation.probabilityBelow(last, invested));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("paths", simulation.getPaths());
+        result.put("seed", seed);
+        result.put("expectedReturn", assumption.annualReturn());
+        result.put("volatility", assumption.annualVolatility());
+        result.put("invested", Math.round(invested * 100.0) / 100.0);
+        result.put("outcome", outcome);
+        result.put("bands", simulation.getBands());
+        return result;
+    }
+
+    private record Assumption(double annualReturn, double annualVolatility) {
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.todo.auth.service;
 
 // TodoService.java
+import com.example.todo.auth.dto.BatchRequest;
+import com.example.todo.auth.dto.BatchResult;
+import com.example.todo.auth.dto.CursorPage;
+import com.example.todo.auth.dto.PageCursor;
 import com.example.todo.auth.dto.TodoRequest;
+import com.example.todo.auth.dto.TodoView;
 import com.example.todo.auth.entity.Todo;
 import com.example.todo.auth.entity.User;
 import com.example.todo.auth.repository.TodoRepository;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class TodoService {
@@ -17,12 +27,33 @@ public class TodoService {
     @Autowired
     private TodoRepository todoRepository;
 
-    public List<Todo> getUserTodos(User user) {
-        return todoRepository.findByUser(user);
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    public CursorPage<TodoView> getUserTodos(User user, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<TodoView> todos;
+        if (cursor == null) {
+            todos = todoRepository.findPageByUser(user, CursorPage.fetchLimit(pageSize));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            todos = todoRepository.findPageByUserAfter(user, after.position(), after.id(), CursorPage.fetchLimit(pageSize));
+        }
+        return CursorPage.of(todos, pageSize, todo -> PageCursor.of(todo.createdAt(), todo.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public void writeUserTodos(User user, SequenceWriter rows) throws IOException {
+        try (Stream<TodoView> todos = todoRepository.streamByUser(user)) {
+            Iterator<TodoView> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                rows.write(iterator.next());
+            }
+        }
     }
 
-    public List<Todo> getUserTodosByCompletion(User user, boolean completed) {
-        return todoRepository.findByUserAndCompleted(user, completed);
+    public List<TodoView> getUserTodosByCompletion(User user, boolean completed) {
+        return todoRepository.findViewsByUserAndCompleted(user, completed);
     }
 
     public Todo createTodo(TodoRequest request, User user) {
@@ -30,40 +61,44 @@ public class TodoService {
         return todoRepository.save(todo);
     }
 
-    public Optional<Todo> updateTodo(Long id, TodoRequest request, User user) {
-        return todoRepository.findById(id)
-                .map(todo -> {
-                    if (!todo.getUser().getId().equals(user.getId())) {
-                        throw new RuntimeException("Not authorized to update this todo");
-                    }
-                    todo.setTitle(request.getTitle());
-                    todo.setDescription(request.getDescription());
-                    todo.setUpdatedAt(LocalDateTime.now());
-                    return todoRepository.save(todo);
-                });
+    @Transactional
+    public Optional<TodoView> updateTodo(Long id, TodoRequest request, User user) {
+        int updated = todoRepository.updateDetailsByIdAndUser(id, user,
+                request.getTitle(), request.getDescription(), LocalDateTime.now());
+        return updated == 0 ? Optional.empty() : todoRepository.findViewByIdAndUser(id, user);
     }
 
-    public Optional<Todo> toggleTodoCompletion(Long id, User user) {
-        return todoRepository.findById(id)
-                .map(todo -> {
-                    if (!todo.getUser().getId().equals(user.getId())) {
-                        throw new RuntimeException("Not authorized to update this todo");
-                    }
-                    todo.setCompleted(!todo.isCompleted());
+    @Transactional
+    public BatchResult<Todo> applyBatch(BatchRequest<TodoRequest> request, User user) {
+        return batchExecutor.execute(request, todoRepository,
+                ids -> todoRepository.findByUserAndIdIn(user, ids),
+                Todo::getId,
+                item -> new Todo(item.getTitle(), item.getDescription(), user),
+                (todo, item) -> {
+                    todo.setTitle(item.getTitle());
+                    todo.setDescription(item.getDescription());
                     todo.setUpdatedAt(LocalDateTime.now());
-                    return todoRepository.save(todo);
                 });
     }
 
+    @Transactional
+    public Optional<TodoView> toggleTodoCompletion(Long id, User user) {
+        int updated = todoRepository.toggleCompletedByIdAndUser(id, user, LocalDateTime.now());
+        return updated == 0 ? Optional.empty() : todoRepository.findViewByIdAndUser(id, user);
+    }
+
+    @Transactional
     public boolean deleteTodo(Long id, User user) {
-        return todoRepository.findById(id)
-                .map(todo -> {
-                    if (!todo.getUser().getId().equals(user.getId())) {
-                        throw new RuntimeException("Not authorized to delete this todo");
-                    }
-                    todoRepository.delete(todo);
-                    return true;
-                })
-                .orElse(false);
+        return todoRepository.deleteByIdAndUser(id, user) > 0;
+    }
+
+    @Transactional
+    public int completeAllTodos(User user) {
+        return todoRepository.completeAllByUser(user, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int deleteCompletedTodos(User user) {
+        return todoRepository.deleteCompletedByUser(user);
     }
 }
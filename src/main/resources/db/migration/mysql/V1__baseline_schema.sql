@@ -0,0 +1,143 @@
+-- Schema as Hibernate's ddl-auto created it before migrations were introduced.
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    roles varchar(255)
+) engine=InnoDB;
+
+create table todos (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    description varchar(255),
+    completed bit not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table expenses (
+    id bigint not null auto_increment,
+    category varchar(255) not null,
+    amount float(53) not null,
+    date date not null,
+    description varchar(255),
+    inflation_rate float(53),
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table goals (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    category enum ('LONG_TERM','MEDIUM_TERM','RETIREMENT','SHORT_TERM') not null,
+    duration integer not null,
+    target_amount float(53) not null,
+    notes varchar(1000),
+    inflation_adjusted_amount float(53),
+    inflation_rate float(53),
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table sips (
+    id bigint not null auto_increment,
+    investment_on_name varchar(255) not null,
+    monthly_investment float(53) not null,
+    duration integer not null,
+    expected_return float(53) not null,
+    future_value float(53),
+    total_investment float(53),
+    total_interest_paid float(53),
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table emis (
+    id bigint not null auto_increment,
+    emi_for_name varchar(255) not null,
+    principal float(53) not null,
+    annual_interest_rate float(53) not null,
+    total_tenure integer not null,
+    tenures_paid integer not null,
+    emi_amount float(53),
+    principal_paid_so_far float(53),
+    interest_paid_so_far float(53),
+    remaining_principal float(53),
+    interest_to_be_paid float(53),
+    remaining_tenure integer,
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table lump_sums (
+    id bigint not null auto_increment,
+    investment_name varchar(255) not null,
+    principal_amount float(53) not null,
+    duration integer not null,
+    expected_return float(53) not null,
+    future_value float(53),
+    total_interest float(53),
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table income_sources (
+    id bigint not null auto_increment,
+    source_name varchar(255) not null,
+    initial_monthly_income float(53) not null,
+    annual_growth_rate float(53) not null,
+    years integer not null,
+    projected_monthly_income float(53),
+    total_amount_received float(53),
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table investment_options (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    category enum ('ALTERNATIVE','COMMODITIES','EQUITY','FIXED_INCOME','REAL_ESTATE') not null,
+    min_cagr float(53) not null,
+    max_cagr float(53) not null,
+    risk_level enum ('HIGH','LOW','MEDIUM','VERY_HIGH') not null,
+    liquidity enum ('HIGH','LOW','MEDIUM') not null,
+    tax_efficiency varchar(500),
+    notes varchar(1000),
+    user_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
+alter table todos add constraint FK9605g76a1dggbvs18f2r80gvu foreign key (user_id) references users (id);
+alter table expenses add constraint FKhpk0n2cbnfiuu5nrgl0ika3hq foreign key (user_id) references users (id);
+alter table goals add constraint FKb1mp6ulyqkpcw6bc1a2mr7v1g foreign key (user_id) references users (id);
+alter table sips add constraint FK1119tls4ffd3rblljopqimpb0 foreign key (user_id) references users (id);
+alter table emis add constraint FKcpwl08aelv6wmki92ind9ddoc foreign key (user_id) references users (id);
+alter table lump_sums add constraint FKf945c8yalqxr8t3xpuys6jk8v foreign key (user_id) references users (id);
+alter table income_sources add constraint FKqoiqfhrdwfb2va20hf8l6gbrx foreign key (user_id) references users (id);
+alter table investment_options add constraint FK895ngp7aooitywfl7axiheq0s foreign key (user_id) references users (id);
@@ -0,0 +1,22 @@
+-- Every listing filters by user and sorts by creation time or date; the extra
+-- columns after user_id let those queries read rows in index order.
+
+create index idx_todos_user_created on todos (user_id, created_at);
+create index idx_todos_user_completed on todos (user_id, completed);
+
+create index idx_expenses_user_date on expenses (user_id, date);
+create index idx_expenses_user_category on expenses (user_id, category);
+
+create index idx_goals_user_created on goals (user_id, created_at);
+create index idx_goals_user_category on goals (user_id, category, created_at);
+
+create index idx_sips_user_created on sips (user_id, created_at);
+
+create index idx_emis_user_created on emis (user_id, created_at);
+
+create index idx_lump_sums_user_created on lump_sums (user_id, created_at);
+
+create index idx_income_sources_user_created on income_sources (user_id, created_at);
+
+create index idx_investment_options_user_created on investment_options (user_id, created_at);
+create index idx_investment_options_user_category on investment_options (user_id, category);
@@ -0,0 +1,19 @@
+-- Resource ids come from a pooled table generator instead of auto_increment, so
+-- Hibernate knows ids before flushing and can send inserts as JDBC batches. Each
+-- row hands out blocks of 50 ids; the seeds make the first block start right
+-- after the table's current max id.
+
+create table hibernate_sequences (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into hibernate_sequences (sequence_name, next_val) select 'todos', coalesce(max(id), 0) + 49 from todos;
+insert into hibernate_sequences (sequence_name, next_val) select 'expenses', coalesce(max(id), 0) + 49 from expenses;
+insert into hibernate_sequences (sequence_name, next_val) select 'goals', coalesce(max(id), 0) + 49 from goals;
+insert into hibernate_sequences (sequence_name, next_val) select 'sips', coalesce(max(id), 0) + 49 from sips;
+insert into hibernate_sequences (sequence_name, next_val) select 'emis', coalesce(max(id), 0) + 49 from emis;
+insert into hibernate_sequences (sequence_name, next_val) select 'lump_sums', coalesce(max(id), 0) + 49 from lump_sums;
+insert into hibernate_sequences (sequence_name, next_val) select 'income_sources', coalesce(max(id), 0) + 49 from income_sources;
+insert into hibernate_sequences (sequence_name, next_val) select 'investment_options', coalesce(max(id), 0) + 49 from investment_options;
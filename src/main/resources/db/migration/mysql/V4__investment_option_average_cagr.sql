@@ -0,0 +1,8 @@
+-- Recommendations filter and rank on the midpoint of the CAGR range; storing it lets
+-- the per-user range predicate use an index instead of computing it for every row.
+
+alter table investment_options add column average_cagr float(53);
+update investment_options set average_cagr = (min_cagr + max_cagr) / 2;
+alter table investment_options modify average_cagr float(53) not null;
+
+create index idx_investment_options_user_cagr on investment_options (user_id, average_cagr);
@@ -0,0 +1,201 @@
+package com.example.todo.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent authenticated load on {@code GET /api/todos} and {@code GET /api/sips}, to
+ * compare request threading modes against the configured database. Not picked up by
+ * the default test run; run it once per mode and compare the output:
+ * <pre>
+ * mvn test -Dtest=ThreadModeLoadBenchmark
+ * mvn -Pjava21 test -Dtest=ThreadModeLoadBenchmark -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * Besides throughput and latency it reports the peak Hikari usage and queue, which is
+ * what bounds the virtual-thread mode, and the virtual threads JFR saw pinned to their
+ * carrier (always 0 on platform threads).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ThreadModeLoadBenchmark {
+
+	private static final int USERS = 20;
+	private static final int ROWS_PER_USER = 50;
+	private static final int CONCURRENCY = 400;
+	private static final int WARMUP_REQUESTS = 2_000;
+	private static final int MEASURED_REQUESTS = 20_000;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private Environment environment;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@Test
+	void todosAndSipsUnderLoad() throws Exception {
+		List<String> tokens = seedUsers();
+		HikariPoolMXBean hikari = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+		System.out.printf("java=%s  profiles=%s  virtualThreads=%s  hikariMax=%s  concurrency=%d%n",
+				Runtime.version(), Arrays.toString(environment.getActiveProfiles()),
+				// Spring Boot only switches to virtual threads on Java 21 and later
+				environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+						&& Runtime.version().feature() >= 21,
+				environment.getProperty("spring.datasource.hikari.maximum-pool-size", "default"), CONCURRENCY);
+
+		for (String path : List.of("/api/todos", "/api/sips")) {
+			run(path, tokens, WARMUP_REQUESTS, hikari);
+			Result result = run(path, tokens, MEASURED_REQUESTS, hikari);
+			System.out.printf("%-11s %7.0f req/s  p50 %6.1f ms  p99 %6.1f ms  max %7.1f ms  failed %d  "
+							+ "hikari active %d awaiting %d  pinned %d %s%n",
+					path, result.throughput(), result.percentile(0.5), result.percentile(0.99), result.percentile(1.0),
+					result.failed(), result.peakActive(), result.peakAwaiting(), result.pinned(), result.pinnedAt());
+		}
+	}
+
+	private List<String> seedUsers() throws Exception {
+		List<String> tokens = new ArrayList<>(USERS);
+		String suffix = Long.toString(System.nanoTime(), 36);
+		for (int u = 0; u < USERS; u++) {
+			String username = "load" + u + suffix;
+			String email = username + "@example.com";
+			send("POST", "/api/auth/register", null, objectMapper.writeValueAsString(
+					Map.of("username", username, "email", email, "password", "password123")));
+			String login = send("POST", "/api/auth/login", null, objectMapper.writeValueAsString(
+					Map.of("username", email, "password", "password123")));
+			String token = objectMapper.readTree(login).get("token").asText();
+
+			List<Map<String, Object>> todos = new ArrayList<>();
+			List<Map<String, Object>> sips = new ArrayList<>();
+			for (int i = 0; i < ROWS_PER_USER; i++) {
+				todos.add(Map.of("title", "todo " + i, "description", "load test"));
+				sips.add(Map.of("investmentOnName", "fund " + i, "monthlyInvestment", 1000 + i,
+						"duration", 120, "expectedReturn", 12));
+			}
+			send("POST", "/api/todos/batch", token, objectMapper.writeValueAsString(Map.of("create", todos)));
+			send("POST", "/api/sips/batch", token, objectMapper.writeValueAsString(Map.of("create", sips)));
+			tokens.add(token);
+		}
+		return tokens;
+	}
+
+	private String send(String method, String path, String token, String body) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body));
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException(method + " " + path + " -> " + response.statusCode() + " " + response.body());
+		}
+		return response.body();
+	}
+
+	private Result run(String path, List<String> tokens, int requests, HikariPoolMXBean hikari) throws Exception {
+		long[] latencies = new long[requests];
+		AtomicInteger failed = new AtomicInteger();
+		AtomicInteger peakActive = new AtomicInteger();
+		AtomicInteger peakAwaiting = new AtomicInteger();
+		LongAdder pinned = new LongAdder();
+		Set<String> pinnedAt = ConcurrentHashMap.newKeySet();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		CountDownLatch done = new CountDownLatch(requests);
+
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> {
+			peakActive.accumulateAndGet(hikari.getActiveConnections(), Math::max);
+			peakAwaiting.accumulateAndGet(hikari.getThreadsAwaitingConnection(), Math::max);
+		}, 0, 5, TimeUnit.MILLISECONDS);
+
+		// The event only exists on Java 21; on older runtimes the stream just stays empty
+		try (RecordingStream pinning = new RecordingStream()) {
+			pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+				pinned.increment();
+				if (event.getStackTrace() != null) {
+					event.getStackTrace().getFrames().stream()
+							.map(RecordedFrame::getMethod)
+							.filter(method -> !method.getType().getName().startsWith("java."))
+							.findFirst()
+							.ifPresent(method -> pinnedAt.add(method.getType().getName() + "." + method.getName()));
+				}
+			});
+			pinning.startAsync();
+
+			long start = System.nanoTime();
+			for (int i = 0; i < requests; i++) {
+				inFlight.acquire();
+				int index = i;
+				HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+						.header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+						.timeout(Duration.ofSeconds(30))
+						.GET()
+						.build();
+				long sent = System.nanoTime();
+				client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+					latencies[index] = System.nanoTime() - sent;
+					if (error != null || response.statusCode() != 200) {
+						failed.incrementAndGet();
+					}
+					inFlight.release();
+					done.countDown();
+				});
+			}
+			done.await();
+			double seconds = (System.nanoTime() - start) / 1e9;
+			sampler.shutdownNow();
+
+			Arrays.sort(latencies);
+			return new Result(requests / seconds, latencies, failed.get(), peakActive.get(), peakAwaiting.get(),
+					pinned.sum(), pinnedAt);
+		}
+	}
+
+	private record Result(double throughput, long[] sortedLatencies, int failed, int peakActive, int peakAwaiting,
+						  long pinned, Set<String> pinnedAt) {
+
+		double percentile(double fraction) {
+			int index = Math.min((int) Math.ceil(fraction * sortedLatencies.length), sortedLatencies.length) - 1;
+			return sortedLatencies[Math.max(index, 0)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH time per call of {@link Amortization#compute} against the month-by-month loop it
+ * replaced, halfway through loans of increasing tenure. Not picked up by the default
+ * test run; use {@code mvn test -Dtest=AmortizationBenchmark}. The closed form should
+ * stay flat while the loop grows with the tenure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmortizationBenchmark {
+
+	@Param({"12", "60", "240", "360"})
+	public int tenure;
+
+	private double principal;
+	private double rate;
+	private int paid;
+	private double emi;
+
+	@Setup
+	public void setUp() {
+		principal = 2_500_000;
+		rate = 8.5;
+		paid = tenure / 2;
+		emi = Amortization.installment(principal, rate, tenure);
+	}
+
+	@Benchmark
+	public Amortization closedForm() {
+		return Amortization.compute(principal, rate, tenure, paid, emi);
+	}
+
+	@Benchmark
+	public double[] monthByMonth() {
+		return schedule(principal, rate, tenure, paid, emi);
+	}
+
+	@Test
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+				.include(AmortizationBenchmark.class.getName())
+				.build()).run();
+	}
+
+	// The loop EMI.calculateRemainingDetails used before the closed form
+	private static double[] schedule(double principal, double rate, int tenure, int paid, double emi) {
+		double r = rate / 12 / 100;
+		double balance = principal;
+		double interestPaid = 0.0;
+		double principalPaid = 0.0;
+		for (int i = 0; i < paid; i++) {
+			double interest = balance * r;
+			interestPaid += interest;
+			principalPaid += emi - interest;
+			balance -= emi - interest;
+		}
+		double remainingInterest = 0.0;
+		double temp = balance;
+		for (int i = 0; i < tenure - paid; i++) {
+			double interest = temp * r;
+			remainingInterest += interest;
+			temp -= emi - interest;
+		}
+		return new double[]{round(principalPaid), round(interestPaid), round(balance), round(remainingInterest)};
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100.0) / 100.0;
+	}
+}
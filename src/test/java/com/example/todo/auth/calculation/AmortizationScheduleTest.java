@@ -0,0 +1,94 @@
+package com.example.todo.auth.calculation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AmortizationScheduleTest {
+
+	@Test
+	void rowsRepayThePrincipalAndTheLastInstallmentSettles() throws IOException {
+		double emi = Amortization.installment(500_000, 9, 60);
+		// A cent short each month leaves a remainder for the last installment to settle
+		List<double[]> rows = csvRows(AmortizationSchedule.of(500_000, 9, 60, emi - 0.01, null));
+
+		assertEquals(60, rows.size());
+		double repaid = rows.stream().mapToDouble(row -> row[3] + row[4]).sum();
+		assertEquals(500_000, repaid, 0.05);
+		assertEquals(0.0, rows.get(59)[5]);
+		assertTrue(rows.get(59)[1] > emi - 0.01);
+	}
+
+	@Test
+	void prepaymentsAreCappedAndShortenTheLoan() throws IOException {
+		double emi = Amortization.installment(100_000, 12, 24);
+		Map<Integer, Double> prepayments = AmortizationSchedule.parsePrepayments(List.of("6:20000", " 6 : 5000", "10:1000000"));
+		assertEquals(Map.of(6, 25_000.0, 10, 1_000_000.0), prepayments);
+
+		List<double[]> rows = csvRows(AmortizationSchedule.of(100_000, 12, 24, emi, prepayments));
+
+		// Paid off by the capped prepayment in month 10
+		assertEquals(10, rows.size());
+		assertEquals(25_000.0, rows.get(5)[4]);
+		double[] last = rows.get(9);
+		assertEquals(0.0, last[5]);
+		assertTrue(last[4] < 1_000_000);
+		assertEquals(emi, last[1]);
+		double repaid = rows.stream().mapToDouble(row -> row[3] + row[4]).sum();
+		assertEquals(100_000, repaid, 0.05);
+	}
+
+	@Test
+	void rejectsMalformedPrepayments() {
+		for (String value : List.of("12", "a:100", "12:b", "1:2:3", "0:100", "3:-5", "4:0")) {
+			assertThrows(IllegalArgumentException.class, () -> AmortizationSchedule.parsePrepayments(List.of(value)), value);
+		}
+		assertTrue(AmortizationSchedule.parsePrepayments(null).isEmpty());
+	}
+
+	@Test
+	void writesLargeAmountsInPlainNotation() throws IOException {
+		double emi = Amortization.installment(25_000_000, 8.5, 240);
+		AmortizationSchedule schedule = AmortizationSchedule.of(25_000_000, 8.5, 240, emi, null);
+
+		StringWriter csv = new StringWriter();
+		schedule.writeCsv(csv);
+		String[] lines = csv.toString().split("\n");
+		assertEquals("installment,payment,interest,principal,prepayment,balance", lines[0]);
+		assertFalse(csv.toString().contains("E"));
+		assertTrue(lines[1].startsWith("1," + String.format(Locale.ROOT, "%.2f", emi) + ",177083.33,"), lines[1]);
+
+		StringWriter json = new StringWriter();
+		ObjectMapper mapper = new ObjectMapper();
+		try (JsonGenerator generator = mapper.getFactory().createGenerator(json)) {
+			schedule.writeJson(generator);
+		}
+		JsonNode rows = mapper.readTree(json.toString());
+		assertEquals(240, rows.size());
+		assertEquals(emi, rows.get(0).get("payment").asDouble());
+		assertEquals(177_083.33, rows.get(0).get("interest").asDouble());
+		assertEquals(0.0, rows.get(239).get("balance").asDouble());
+	}
+
+	private static List<double[]> csvRows(AmortizationSchedule schedule) throws IOException {
+		StringWriter csv = new StringWriter();
+		schedule.writeCsv(csv);
+		return Arrays.stream(csv.toString().split("\n"))
+				.skip(1)
+				.map(line -> Arrays.stream(line.split(",")).mapToDouble(Double::parseDouble).toArray())
+				.toList();
+	}
+}
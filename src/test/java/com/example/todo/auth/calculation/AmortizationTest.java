@@ -0,0 +1,77 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AmortizationTest {
+
+	@Test
+	void matchesMonthByMonthSchedule() {
+		SplittableRandom random = new SplittableRandom(20240601L);
+		for (int i = 0; i < 200_000; i++) {
+			double principal = Math.round(random.nextDouble(1_000, 10_000_000) * 100) / 100.0;
+			double rate = Math.round(random.nextDouble(0, 30) * 100) / 100.0;
+			int tenure = random.nextInt(1, 361);
+			int paid = random.nextInt(0, tenure + 1);
+			double emi = emi(principal, rate, tenure);
+
+			double[] expected = schedule(principal, rate, tenure, paid, emi);
+			Amortization actual = Amortization.compute(principal, rate, tenure, paid, emi);
+			String input = principal + " @ " + rate + "% for " + tenure + ", paid " + paid;
+
+			assertEquals(expected[0], actual.getPrincipalPaid(), input);
+			assertEquals(expected[1], actual.getInterestPaid(), input);
+			assertEquals(expected[2], actual.getRemainingPrincipal(), input);
+			assertEquals(expected[3], actual.getRemainingInterest(), input);
+		}
+	}
+
+	@Test
+	void handlesZeroRateAndOverpaidTenure() {
+		Amortization zeroRate = Amortization.compute(12_000, 0, 12, 5, 1_000);
+		assertEquals(5_000, zeroRate.getPrincipalPaid());
+		assertEquals(7_000, zeroRate.getRemainingPrincipal());
+		assertEquals(0, zeroRate.getRemainingInterest());
+
+		double emi = emi(100_000, 10, 12);
+		double[] expected = schedule(100_000, 10, 12, 15, emi);
+		Amortization overpaid = Amortization.compute(100_000, 10, 12, 15, emi);
+		assertEquals(expected[2], overpaid.getRemainingPrincipal());
+		assertEquals(0, overpaid.getRemainingInterest());
+	}
+
+	private static double emi(double principal, double rate, int tenure) {
+		double r = rate / 12 / 100;
+		double emi = principal * r * Math.pow(1 + r, tenure) / (Math.pow(1 + r, tenure) - 1);
+		return Math.round(emi * 100.0) / 100.0;
+	}
+
+	// The loop EMI.calculateRemainingDetails used before the closed form
+	private static double[] schedule(double principal, double rate, int tenure, int paid, double emi) {
+		double r = rate / 12 / 100;
+		double balance = principal;
+		double interestPaid = 0.0;
+		double principalPaid = 0.0;
+		for (int i = 0; i < paid; i++) {
+			double interest = balance * r;
+			interestPaid += interest;
+			principalPaid += emi - interest;
+			balance -= emi - interest;
+		}
+		double remainingInterest = 0.0;
+		double temp = balance;
+		for (int i = 0; i < tenure - paid; i++) {
+			double interest = temp * r;
+			remainingInterest += interest;
+			temp -= emi - interest;
+		}
+		return new double[]{round(principalPaid), round(interestPaid), round(balance), round(remainingInterest)};
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100.0) / 100.0;
+	}
+}
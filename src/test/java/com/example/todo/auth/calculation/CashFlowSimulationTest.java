@@ -0,0 +1,71 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CashFlowSimulationTest {
+
+	@Test
+	void loansAndSipsFollowTheirOwnFormulas() {
+		CashFlowSimulation simulation = new CashFlowSimulation(24);
+		double rate = 0.10 / 12;
+		double emi = 100_000 * rate * Math.pow(1 + rate, 12) / (Math.pow(1 + rate, 12) - 1);
+		simulation.addLoan(100_000, 10, emi, 12);
+		simulation.addSip(5_000, 12, 24);
+		simulation.addIncome(15_000, 0, 2);
+		List<Map<String, Object>> rows = simulation.run().getYearlyRows();
+
+		assertEquals(2, rows.size());
+		assertEquals(emi * 12, (double) rows.get(0).get("emiPayments"), 0.01);
+		assertEquals(0.0, rows.get(1).get("emiPayments"));
+		assertEquals(0.0, (double) rows.get(0).get("debt"), 0.01);
+
+		double monthlyRate = 0.12 / 12;
+		double expected = 5_000 * (Math.pow(1 + monthlyRate, 24) - 1) / monthlyRate * (1 + monthlyRate);
+		assertEquals(expected, (double) rows.get(1).get("investments"), 0.01);
+		assertEquals(15_000 * 24 - emi * 12 - 5_000 * 24, (double) rows.get(1).get("cash"), 0.01);
+	}
+
+	@Test
+	void goalsAreFundedInDueOrderOnceAffordable() {
+		CashFlowSimulation simulation = new CashFlowSimulation(12);
+		simulation.addIncome(10_000, 0, 1);
+		int later = simulation.addGoal(10_000, 4);
+		int first = simulation.addGoal(50_000, 3);
+		simulation.run();
+
+		// 30k saved by month 3, so the first goal waits until month 5 and holds up the next
+		assertEquals(5, simulation.getGoalFundedMonth(first));
+		assertEquals(20_000.0, simulation.getGoalShortfall(first));
+		assertEquals(6, simulation.getGoalFundedMonth(later));
+		assertEquals(10_000.0, simulation.getGoalShortfall(later));
+		assertEquals(60_000.0, simulation.getYearlyRows().get(0).get("cash"));
+	}
+
+	@Test
+	void goalsAfterTheHorizonAreNeitherFundedNorShort() {
+		CashFlowSimulation simulation = new CashFlowSimulation(24);
+		simulation.addIncome(10_000, 0, 2);
+		int unaffordable = simulation.addGoal(500_000, 12);
+		int blocked = simulation.addGoal(30_000, 12);
+		int beyond = simulation.addGoal(1_000, 30);
+		simulation.run();
+
+		assertFalse(simulation.isGoalBeyondHorizon(blocked));
+		assertEquals(0, simulation.getGoalFundedMonth(unaffordable));
+		assertEquals(380_000.0, simulation.getGoalShortfall(unaffordable));
+		// Nothing is left for it once the goal ahead is covered
+		assertEquals(0, simulation.getGoalFundedMonth(blocked));
+		assertEquals(30_000.0, simulation.getGoalShortfall(blocked));
+
+		assertTrue(simulation.isGoalBeyondHorizon(beyond));
+		assertEquals(0, simulation.getGoalFundedMonth(beyond));
+		assertEquals(0.0, simulation.getGoalShortfall(beyond));
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Throughput of {@link ReturnSimulation} at 1, 2, 4, ... threads up to the core count.
+ * Not picked up by the default test run; use
+ * {@code mvn test -Dtest=ReturnSimulationBenchmark}. Speedup should stay close to the
+ * thread count, since paths share nothing but the output array.
+ */
+class ReturnSimulationBenchmark {
+
+	private static final int PATHS = 50_000;
+	private static final int MONTHS = 360;
+	private static final int WARMUP_RUNS = 5;
+	private static final int MEASURED_RUNS = 10;
+
+	@Test
+	void scalesWithCores() {
+		double baseline = 0;
+		for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for (int i = 0; i < WARMUP_RUNS; i++) {
+					run(pool, i);
+				}
+				long start = System.nanoTime();
+				for (int i = 0; i < MEASURED_RUNS; i++) {
+					run(pool, i);
+				}
+				double millis = (System.nanoTime() - start) / 1e6 / MEASURED_RUNS;
+				if (threads == 1) {
+					baseline = millis;
+				}
+				System.out.printf("threads=%d  %.1f ms/run  %.1f M path-months/s  speedup %.2fx%n",
+						threads, millis, (double) PATHS * MONTHS / millis / 1e3, baseline / millis);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	private static List<Integer> threadCounts(int cores) {
+		List<Integer> counts = new ArrayList<>();
+		for (int threads = 1; threads < cores; threads *= 2) {
+			counts.add(threads);
+		}
+		counts.add(cores);
+		return counts;
+	}
+
+	private static void run(ForkJoinPool pool, long seed) {
+		ReturnSimulation.simulateSip(10_000, MONTHS, 12, 16, PATHS, seed, pool);
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReturnSimulationTest {
+
+	@Test
+	void withoutVolatilityEveryPathMatchesTheFormula() {
+		ReturnSimulation sip = ReturnSimulation.simulateSip(5_000, 120, 12, 0, 1_000, 1L, ForkJoinPool.commonPool());
+		double monthlyRate = 0.12 / 12;
+		double expected = 5_000 * (Math.pow(1 + monthlyRate, 120) - 1) / monthlyRate * (1 + monthlyRate);
+		assertEquals(expected, sip.percentile(sip.getCheckpoints() - 1, 0.1), 0.01);
+		assertEquals(expected, sip.percentile(sip.getCheckpoints() - 1, 0.9), 0.01);
+
+		ReturnSimulation lumpSum = ReturnSimulation.simulateLumpSum(100_000, 5, 7, 0, 1_000, 1L, ForkJoinPool.commonPool());
+		assertEquals(100_000 * Math.pow(1.07, 5), lumpSum.percentile(lumpSum.getCheckpoints() - 1, 0.5), 0.01);
+		assertEquals(5, lumpSum.getCheckpoints());
+	}
+
+	@Test
+	void sameSeedGivesSameBandsOnAnyParallelism() {
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool quad = new ForkJoinPool(4);
+		try {
+			ReturnSimulation a = ReturnSimulation.simulateSip(2_000, 100, 11, 16, 20_000, 42L, single);
+			ReturnSimulation b = ReturnSimulation.simulateSip(2_000, 100, 11, 16, 20_000, 42L, quad);
+			assertEquals(a.getBands(), b.getBands());
+			assertEquals(a.mean(a.getCheckpoints() - 1), b.mean(b.getCheckpoints() - 1));
+			assertEquals(100, a.getCheckpointMonth(a.getCheckpoints() - 1));
+		} finally {
+			single.shutdown();
+			quad.shutdown();
+		}
+	}
+
+	@Test
+	void medianTracksTheExpectedReturn() {
+		ReturnSimulation simulation = ReturnSimulation.simulateLumpSum(100_000, 10, 10, 16, 50_000, 7L,
+				ForkJoinPool.commonPool());
+		int last = simulation.getCheckpoints() - 1;
+		double deterministic = 100_000 * Math.pow(1.10, 10);
+		assertEquals(deterministic, simulation.percentile(last, 0.5), deterministic * 0.02);
+		assertTrue(simulation.percentile(last, 0.1) < simulation.percentile(last, 0.5));
+		assertTrue(simulation.percentile(last, 0.5) < simulation.percentile(last, 0.9));
+		assertTrue(simulation.mean(last) > simulation.percentile(last, 0.5));
+		double loss = simulation.probabilityBelow(last, 100_000);
+		assertTrue(loss > 0 && loss < 0.1, "probability of loss " + loss);
+	}
+
+	@Test
+	void sipMedianSitsAboveTheFormula() {
+		// Each contribution's median is on the formula, but the median of their sum is not
+		double tenYears = sipMedianGap(120);
+		double thirtyYears = sipMedianGap(360);
+		assertTrue(tenYears > 0.005 && tenYears < 0.02, "10-year gap " + tenYears);
+		assertTrue(thirtyYears > 0.025 && thirtyYears < 0.05, "30-year gap " + thirtyYears);
+	}
+
+	// Relative distance of P50 above the deterministic SIP value at 12% and 16% volatility
+	private static double sipMedianGap(int months) {
+		ReturnSimulation simulation = ReturnSimulation.simulateSip(5_000, months, 12, 16, 50_000, 7L,
+				ForkJoinPool.commonPool());
+		double monthlyRate = 0.12 / 12;
+		double deterministic = 5_000 * (Math.pow(1 + monthlyRate, months) - 1) / monthlyRate * (1 + monthlyRate);
+		return simulation.percentile(simulation.getCheckpoints() - 1, 0.5) / deterministic - 1;
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.todo.auth.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SIPProjectionTest {
+
+	@Test
+	void matchesPerMonthPowFormula() {
+		SplittableRandom random = new SplittableRandom(20240515L);
+		for (int i = 0; i < 2_000; i++) {
+			double monthlyInvestment = Math.round(random.nextDouble(100, 1_000_000) * 100) / 100.0;
+			double rate = Math.max(Math.round(random.nextDouble(0, 30) * 100) / 100.0, 0.01);
+			int months = random.nextInt(1, 481);
+
+			SIPProjection projection = SIPProjection.compute(monthlyInvestment, rate, months);
+			assertEquals(months, projection.getMonths());
+			for (int month = 1; month <= months; month++) {
+				double[] expected = calculateForPeriod(monthlyInvestment, rate, month);
+				String input = monthlyInvestment + " @ " + rate + "% month " + month;
+
+				assertEquals(expected[0], projection.getTotalValue(month), input);
+				assertEquals(expected[1], projection.getCumulativeInvestment(month), input);
+				assertEquals(expected[2], projection.getInterestEarned(month), input);
+			}
+		}
+	}
+
+	@Test
+	void zeroReturnIsTheAmountInvested() {
+		SIPProjection projection = SIPProjection.compute(1_000, 0, 24);
+		assertEquals(24_000, projection.getTotalValue(24));
+		assertEquals(0, projection.getInterestEarned(24));
+	}
+
+	// SIP.calculateForPeriod as each projection month used to be computed
+	private static double[] calculateForPeriod(double monthlyInvestment, double expectedReturn, int monthsCompleted) {
+		double monthlyRate = expectedReturn / 12 / 100;
+		double currentValue = monthlyInvestment *
+				(Math.pow(1 + monthlyRate, monthsCompleted) - 1) / monthlyRate *
+				(1 + monthlyRate);
+		double investedSoFar = monthlyInvestment * monthsCompleted;
+		double interestSoFar = currentValue - investedSoFar;
+		return new double[]{round(currentValue), round(investedSoFar), round(interestSoFar)};
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100.0) / 100.0;
+	}
+}
@@ -0,0 +1,84 @@
+package com.example.todo.auth.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private String token;
+
+	@BeforeEach
+	void login() throws Exception {
+		String username = "export" + Long.toString(System.nanoTime(), 36);
+		String email = username + "@example.com";
+		send(post("/api/auth/register"), Map.of("username", username, "email", email, "password", "password123"));
+		JsonNode login = objectMapper.readTree(
+				send(post("/api/auth/login"), Map.of("username", email, "password", "password123")));
+		token = login.get("token").asText();
+	}
+
+	@Test
+	void expenseExportRowsMatchTheRegularResponse() throws Exception {
+		JsonNode created = objectMapper.readTree(send(post("/api/expenses"),
+				Map.of("category", "food", "amount", 120.5, "date", "2024-01-15", "description", "groceries")));
+		JsonNode regular = objectMapper.readTree(send(get("/api/expenses/" + created.get("id").asLong()), null));
+
+		String[] lines = send(get("/api/expenses/export"), null).split("\n");
+		assertEquals(1, lines.length);
+		JsonNode exported = objectMapper.readTree(lines[0]);
+		assertEquals("2024-01-15", exported.get("date").asText());
+		assertEquals(regular, exported);
+	}
+
+	@Test
+	void todoExportRowsMatchTheRegularResponse() throws Exception {
+		send(post("/api/todos"), Map.of("title", "file taxes", "description", "before July"));
+		JsonNode regular = objectMapper.readTree(send(get("/api/todos"), null)).get(0);
+
+		String[] lines = send(get("/api/todos/export"), null).split("\n");
+		assertEquals(1, lines.length);
+		JsonNode exported = objectMapper.readTree(lines[0]);
+		assertTrue(exported.get("createdAt").isTextual(), lines[0]);
+		assertEquals(regular, exported);
+	}
+
+	private String send(MockHttpServletRequestBuilder request, Object body) throws Exception {
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		if (body != null) {
+			request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+		}
+		MvcResult result = mvc.perform(request).andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			result = mvc.perform(asyncDispatch(result)).andReturn();
+		}
+		assertEquals(200, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+		return result.getResponse().getContentAsString();
+	}
+}
@@ -0,0 +1,191 @@
+package com.example.todo.auth.repository;
+
+import com.example.todo.auth.entity.Goal;
+import com.example.todo.auth.entity.InvestmentOption;
+import com.example.todo.auth.entity.User;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the MySQL migrations on H2 in MySQL mode, calls the per-user repository methods and
+// explains the SQL Hibernate issued for each, so a changed @Query or a dropped index shows up
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.flyway.locations=classpath:db/migration/mysql",
+		// Clears the MySQL dialect of application.properties so Hibernate detects H2
+		"spring.jpa.properties.hibernate.dialect="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@TestConfiguration
+	static class CaptureStatements {
+
+		@Bean
+		HibernatePropertiesCustomizer statementCapture() {
+			StatementInspector inspector = sql -> {
+				STATEMENTS.add(sql);
+				return sql;
+			};
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TodoRepository todoRepository;
+
+	@Autowired
+	private ExpenseRepository expenseRepository;
+
+	@Autowired
+	private GoalRepository goalRepository;
+
+	@Autowired
+	private SIPRepository sipRepository;
+
+	@Autowired
+	private EMIRepository emiRepository;
+
+	@Autowired
+	private LumpSumRepository lumpSumRepository;
+
+	@Autowired
+	private IncomeSourceRepository incomeSourceRepository;
+
+	@Autowired
+	private InvestmentOptionRepository investmentOptionRepository;
+
+	@Test
+	void repositoryQueriesDoNotScanWholeTables() {
+		User user = userRepository.saveAndFlush(new User("plans", "plans@example.com", "x", List.of("ROLE_USER")));
+		LocalDate from = LocalDate.of(2024, 1, 1);
+		LocalDate to = LocalDate.of(2024, 1, 31);
+		LocalDateTime at = LocalDateTime.of(2024, 1, 15, 12, 0);
+		Limit page = Limit.of(20);
+
+		Map<String, Runnable> calls = new LinkedHashMap<>();
+		calls.put("TodoRepository.findPageByUser", () -> todoRepository.findPageByUser(user, page));
+		calls.put("TodoRepository.findPageByUserAfter", () -> todoRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("TodoRepository.findViewByIdAndUser", () -> todoRepository.findViewByIdAndUser(1L, user));
+		calls.put("TodoRepository.findViewsByUserAndCompleted", () -> todoRepository.findViewsByUserAndCompleted(user, true));
+		calls.put("TodoRepository.streamByUser", () -> close(todoRepository.streamByUser(user)));
+		calls.put("TodoRepository.updateDetailsByIdAndUser",
+				() -> todoRepository.updateDetailsByIdAndUser(1L, user, "t", "d", at));
+		calls.put("TodoRepository.toggleCompletedByIdAndUser", () -> todoRepository.toggleCompletedByIdAndUser(1L, user, at));
+		calls.put("TodoRepository.deleteByIdAndUser", () -> todoRepository.deleteByIdAndUser(1L, user));
+		calls.put("TodoRepository.completeAllByUser", () -> todoRepository.completeAllByUser(user, at));
+		calls.put("TodoRepository.deleteCompletedByUser", () -> todoRepository.deleteCompletedByUser(user));
+
+		calls.put("ExpenseRepository.findPageByUser", () -> expenseRepository.findPageByUser(user, page));
+		calls.put("ExpenseRepository.findPageByUserAfter", () -> expenseRepository.findPageByUserAfter(user, to, 1L, page));
+		calls.put("ExpenseRepository.findViewsByUserAndDateBetween",
+				() -> expenseRepository.findViewsByUserAndDateBetween(user, from, to));
+		calls.put("ExpenseRepository.findByUserAndCategory", () -> expenseRepository.findByUserAndCategory(user, "food"));
+		calls.put("ExpenseRepository.sumAmountByUserAndDateBetween",
+				() -> expenseRepository.sumAmountByUserAndDateBetween(user, from, to));
+		calls.put("ExpenseRepository.weightedInflationRateByUserAndDateBetween",
+				() -> expenseRepository.weightedInflationRateByUserAndDateBetween(user, from, to));
+		calls.put("ExpenseRepository.sumByCategoryForUserAndDateBetween",
+				() -> expenseRepository.sumByCategoryForUserAndDateBetween(user, from, to));
+		calls.put("ExpenseRepository.sumByDayAndCategoryForUserAndDateBetween",
+				() -> expenseRepository.sumByDayAndCategoryForUserAndDateBetween(user, from, to));
+		calls.put("ExpenseRepository.streamByUser", () -> close(expenseRepository.streamByUser(user)));
+
+		calls.put("GoalRepository.findPageByUser", () -> goalRepository.findPageByUser(user, page));
+		calls.put("GoalRepository.findPageByUserAfter",
+				() -> goalRepository.findPageByUserAfter(user, Goal.GoalCategory.LONG_TERM, at, 1L, page));
+		calls.put("GoalRepository.findViewsByUserAndCategory",
+				() -> goalRepository.findViewsByUserAndCategory(user, Goal.GoalCategory.RETIREMENT));
+		calls.put("GoalRepository.summarizeByCategoryForUser", () -> goalRepository.summarizeByCategoryForUser(user));
+
+		calls.put("SIPRepository.findPageByUser", () -> sipRepository.findPageByUser(user, page));
+		calls.put("SIPRepository.findPageByUserAfter", () -> sipRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("SIPRepository.summarizeByUser", () -> sipRepository.summarizeByUser(user));
+
+		calls.put("EMIRepository.findPageByUser", () -> emiRepository.findPageByUser(user, page));
+		calls.put("EMIRepository.findPageByUserAfter", () -> emiRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("EMIRepository.summarizeByUser", () -> emiRepository.summarizeByUser(user));
+
+		calls.put("LumpSumRepository.findPageByUser", () -> lumpSumRepository.findPageByUser(user, page));
+		calls.put("LumpSumRepository.findPageByUserAfter", () -> lumpSumRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("LumpSumRepository.summarizeByUser", () -> lumpSumRepository.summarizeByUser(user));
+
+		calls.put("IncomeSourceRepository.findPageByUser", () -> incomeSourceRepository.findPageByUser(user, page));
+		calls.put("IncomeSourceRepository.findPageByUserAfter",
+				() -> incomeSourceRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("IncomeSourceRepository.summarizeByUser", () -> incomeSourceRepository.summarizeByUser(user));
+
+		calls.put("InvestmentOptionRepository.findPageByUser", () -> investmentOptionRepository.findPageByUser(user, page));
+		calls.put("InvestmentOptionRepository.findPageByUserAfter",
+				() -> investmentOptionRepository.findPageByUserAfter(user, at, 1L, page));
+		calls.put("InvestmentOptionRepository.findViewsByUserAndCategory",
+				() -> investmentOptionRepository.findViewsByUserAndCategory(user, InvestmentOption.InvestmentCategory.EQUITY));
+		calls.put("InvestmentOptionRepository.streamCandidates", () -> close(investmentOptionRepository.streamCandidates(
+				user, 8.0, List.of(InvestmentOption.RiskLevel.LOW, InvestmentOption.RiskLevel.MEDIUM),
+				List.of(InvestmentOption.Liquidity.MEDIUM, InvestmentOption.Liquidity.LOW))));
+
+		// Where the extra index columns filter rows H2 picks the V2/V4 index, so those calls must
+		// keep using it. Indexes that only add the sort column tie with the foreign key index on
+		// H2, which ignores them for ordering; for those calls only the full-scan check applies.
+		Map<String, String> expectedIndexes = Map.of(
+				"TodoRepository.findViewsByUserAndCompleted", "idx_todos_user_completed",
+				"ExpenseRepository.findViewsByUserAndDateBetween", "idx_expenses_user_date",
+				"ExpenseRepository.findByUserAndCategory", "idx_expenses_user_category",
+				"ExpenseRepository.sumAmountByUserAndDateBetween", "idx_expenses_user_date",
+				"ExpenseRepository.weightedInflationRateByUserAndDateBetween", "idx_expenses_user_date",
+				"ExpenseRepository.sumByCategoryForUserAndDateBetween", "idx_expenses_user_date",
+				"ExpenseRepository.sumByDayAndCategoryForUserAndDateBetween", "idx_expenses_user_date",
+				"InvestmentOptionRepository.findViewsByUserAndCategory", "idx_investment_options_user_category",
+				"InvestmentOptionRepository.streamCandidates", "idx_investment_options_user_cagr");
+
+		calls.forEach((name, call) -> {
+			STATEMENTS.clear();
+			call.run();
+			assertFalse(STATEMENTS.isEmpty(), () -> name + " issued no SQL");
+			for (String sql : STATEMENTS) {
+				String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+				assertFalse(plan.contains("tablescan"), () -> "Full scan in " + name + ":\n" + plan);
+				String index = expectedIndexes.get(name);
+				if (index != null) {
+					assertTrue(plan.contains("." + index + ":"), () -> name + " does not use " + index + ":\n" + plan);
+				}
+			}
+		});
+	}
+
+	private static void close(Stream<?> rows) {
+		try (rows) {
+			rows.forEach(row -> { });
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.todo.auth.security;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of {@link JwtUtil#generateToken} and {@link JwtUtil#parseAndValidate},
+ * with the GC profiler's {@code gc.alloc.rate.norm} as the bytes allocated per call.
+ * Not picked up by the default test run; use {@code mvn test -Dtest=JwtUtilBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+	private JwtUtil jwtUtil;
+	private AuthenticatedUser user;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyWhichShouldBeVeryLongAndSecureInProduction12345");
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+		jwtUtil.init();
+		user = new AuthenticatedUser(42L, "alice@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		token = jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public ParsedToken parseAndValidate() {
+		return jwtUtil.parseAndValidate(token);
+	}
+
+	@Test
+	void run() throws Exception {
+		new Runner(new OptionsBuilder()
+				.include(JwtUtilBenchmark.class.getName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}